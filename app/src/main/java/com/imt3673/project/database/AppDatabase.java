@@ -1,9 +1,11 @@
 package com.imt3673.project.database;
 
 
+import android.arch.persistence.db.SupportSQLiteDatabase;
 import android.arch.persistence.room.Database;
 import android.arch.persistence.room.Room;
 import android.arch.persistence.room.RoomDatabase;
+import android.arch.persistence.room.migration.Migration;
 import android.content.Context;
 import android.util.Log;
 
@@ -11,17 +13,57 @@ import android.util.Log;
  * The application database.
  * https://medium.com/@ajaysaini.official/building-database-with-room-persistence-library-ecf7d0b8f3e9
  */
-@Database(entities = {HighScore.class}, version = 1)
+@Database(entities = {HighScore.class, PrunedRuns.class, PendingSubmission.class}, version = 4)
 public abstract class AppDatabase extends RoomDatabase{
 
     private static  AppDatabase INSTANCE;
 
+    /**
+     * Version 2 stores times as integer milliseconds instead of "MM:SS:CC" strings, and indexes them per level.
+     * SQLite can not change a column type, so the table is rebuilt. Rows without a valid time are dropped.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS high_score_new (uid INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, level_name TEXT, time_ms INTEGER NOT NULL)");
+            database.execSQL("INSERT INTO high_score_new (uid, level_name, time_ms) "
+                    + "SELECT uid, level_name, "
+                    + "CAST(substr(level_time, 1, 2) AS INTEGER) * 60000 + CAST(substr(level_time, 4, 2) AS INTEGER) * 1000 + CAST(substr(level_time, 7, 2) AS INTEGER) * 10 "
+                    + "FROM high_score WHERE level_time GLOB '[0-9][0-9]:[0-9][0-9]:[0-9][0-9]'");
+            database.execSQL("DROP TABLE high_score");
+            database.execSQL("ALTER TABLE high_score_new RENAME TO high_score");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_high_score_level_name_time_ms ON high_score (level_name, time_ms)");
+        }
+    };
+
+    /**
+     * Version 3 adds the totals of runs pruned by the high score retention policy.
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS pruned_runs (level_name TEXT NOT NULL, run_count INTEGER NOT NULL, time_sum INTEGER NOT NULL, PRIMARY KEY(level_name))");
+        }
+    };
+
+    /**
+     * Version 4 adds the queue of times waiting to be submitted to the online leaderboard.
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS pending_submission (level_name TEXT NOT NULL, time_ms INTEGER NOT NULL, PRIMARY KEY(level_name))");
+        }
+    };
+
     public abstract HighScoreDao highScoreDao();
 
+    public abstract PendingSubmissionDao pendingSubmissionDao();
+
     public static AppDatabase getAppDatabase(Context context){
         if (INSTANCE == null){
             INSTANCE = Room.databaseBuilder(context.getApplicationContext(),AppDatabase.class,"high_score_database")
-                    .allowMainThreadQueries() // TODO fix
+                    .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4) // Queries run on the HighScoreRepository and LeaderboardQueue threads
                     .build();
             Log.i("AppDatabase","creating inctance");
         }
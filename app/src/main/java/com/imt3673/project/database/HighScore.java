@@ -2,14 +2,16 @@ package com.imt3673.project.database;
 
 import android.arch.persistence.room.ColumnInfo;
 import android.arch.persistence.room.Entity;
+import android.arch.persistence.room.Index;
 import android.arch.persistence.room.PrimaryKey;
 
 /**
  * Database table
  * Entity: Represents a table within the database.
+ * The (level_name, time_ms) index lets the best times of a level be read with an index seek.
  */
 
-@Entity(tableName = "high_score")
+@Entity(tableName = "high_score", indices = {@Index(value = {"level_name", "time_ms"})})
 public class HighScore {
     @PrimaryKey(autoGenerate = true)
     private int uid;
@@ -17,8 +19,8 @@ public class HighScore {
     @ColumnInfo(name = "level_name")
     private String levelName;
 
-    @ColumnInfo(name = "level_time")
-    private String levelTime;
+    @ColumnInfo(name = "time_ms")
+    private long timeMs;
 
     public int getUid() {
         return uid;
@@ -36,11 +38,11 @@ public class HighScore {
         this.levelName = levelName;
     }
 
-    public String getLevelTime() {
-        return levelTime;
+    public long getTimeMs() {
+        return timeMs;
     }
 
-    public void setLevelTime(String levelTime) {
-        this.levelTime = levelTime;
+    public void setTimeMs(long timeMs) {
+        this.timeMs = timeMs;
     }
 }
@@ -3,6 +3,7 @@ package com.imt3673.project.database;
 import android.arch.persistence.room.Dao;
 import android.arch.persistence.room.Delete;
 import android.arch.persistence.room.Insert;
+import android.arch.persistence.room.OnConflictStrategy;
 import android.arch.persistence.room.Query;
 
 import java.util.List;
@@ -15,10 +16,15 @@ import java.util.List;
 @Dao
 public interface HighScoreDao {
 
+    // Rows of a level outside both the :keepBest fastest and the :keepRecent newest runs
+    String PRUNABLE = "level_name = :levelName"
+            + " AND uid NOT IN (SELECT uid FROM high_score WHERE level_name = :levelName ORDER BY time_ms ASC LIMIT :keepBest)"
+            + " AND uid NOT IN (SELECT uid FROM high_score WHERE level_name = :levelName ORDER BY uid DESC LIMIT :keepRecent)";
+
     @Query("SELECT * FROM high_score")
     List<HighScore> getAll();
 
-    @Query("SELECT * FROM high_score WHERE level_name LIKE :levelName ORDER BY level_time ASC LIMIT 3")
+    @Query("SELECT * FROM high_score WHERE level_name = :levelName ORDER BY time_ms ASC LIMIT 3")
     List<HighScore> getTopScoresFromLevelSorted(String levelName);
 
     @Insert
@@ -29,4 +35,36 @@ public interface HighScoreDao {
 
     @Query("DELETE FROM high_score")
     void deleteAll();
+
+    /**
+     * Creates the pruned totals row of a level if it does not exist
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void ensurePrunedRuns(PrunedRuns prunedRuns);
+
+    /**
+     * Adds the runs that pruneLevel is about to delete to the pruned totals, call in the same transaction
+     */
+    @Query("UPDATE pruned_runs SET"
+            + " run_count = run_count + (SELECT COUNT(*) FROM high_score WHERE " + PRUNABLE + "),"
+            + " time_sum = time_sum + (SELECT IFNULL(SUM(time_ms), 0) FROM high_score WHERE " + PRUNABLE + ")"
+            + " WHERE level_name = :levelName")
+    void addPrunedRuns(String levelName, int keepBest, int keepRecent);
+
+    /**
+     * Deletes the runs of a level that are neither among the fastest nor the newest
+     * @return number of rows deleted
+     */
+    @Query("DELETE FROM high_score WHERE " + PRUNABLE)
+    int pruneLevel(String levelName, int keepBest, int keepRecent);
+
+    /**
+     * Best time, number of runs and mean time per level, including pruned runs
+     */
+    @Query("SELECT h.level_name AS level_name, MIN(h.time_ms) AS best_time_ms,"
+            + " COUNT(*) + IFNULL(MAX(p.run_count), 0) AS run_count,"
+            + " (SUM(h.time_ms) + IFNULL(MAX(p.time_sum), 0)) * 1.0 / (COUNT(*) + IFNULL(MAX(p.run_count), 0)) AS mean_time_ms"
+            + " FROM high_score h LEFT JOIN pruned_runs p ON p.level_name = h.level_name"
+            + " GROUP BY h.level_name")
+    List<LevelStats> getLevelStats();
 }
@@ -0,0 +1,251 @@
+package com.imt3673.project.database;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * High score repository - The only way the app reaches the high score table.
+ * All SQLite work runs in order on one database thread. The best times of each level
+ * are kept in memory, so the UI reads them without touching SQLite, and inserts update
+ * the cached lists instead of forcing a new query.
+ * Only the KEEP_BEST fastest and KEEP_RECENT newest runs of a level are kept. Levels are marked
+ * on insert and pruned together in one transaction once the queued inserts have run, the pruned
+ * runs are folded into pruned_runs so the level statistics still count them.
+ */
+public class HighScoreRepository {
+    public static final int TOP_COUNT   = 3;  // Best times shown per level
+    public static final int KEEP_BEST   = 10; // Fastest runs kept per level, at least TOP_COUNT
+    public static final int KEEP_RECENT = 10; // Newest runs kept per level
+
+    private static HighScoreRepository INSTANCE;
+
+    private final HighScoreDao dao;
+    private final Executor     transactions;
+    private final Executor     dbExecutor;
+    private final Executor     mainExecutor;
+
+    private final HashMap<String, List<HighScore>> topScores = new HashMap<>(); // Immutable lists, replaced on change
+    private final HashSet<String>                  loading   = new HashSet<>();
+    private final ArrayList<Listener>              listeners = new ArrayList<>(); // Only used on the main thread
+
+    private final HashSet<String> dirtyLevels = new HashSet<>(); // Levels inserted into since the last prune, database thread only
+    private boolean               pruneScheduled;                // Database thread only
+
+    /**
+     * Told when the cached best times of a level change, called on the main thread.
+     */
+    public interface Listener {
+        /**
+         * @param levelName Level whose best times changed
+         */
+        void onTopScoresChanged(String levelName);
+    }
+
+    /**
+     * Receives level statistics, called on the main thread.
+     */
+    public interface StatsCallback {
+        /**
+         * @param stats Statistics of every level with a saved run
+         */
+        void onLevelStats(List<LevelStats> stats);
+    }
+
+    /**
+     * @param context Context
+     * @return The shared repository
+     */
+    public static synchronized HighScoreRepository getInstance(final Context context) {
+        if (INSTANCE == null) {
+            ExecutorService dbExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "HighScoreDb"));
+            Handler         main       = new Handler(Looper.getMainLooper());
+            AppDatabase     database   = AppDatabase.getAppDatabase(context);
+
+            INSTANCE = new HighScoreRepository(database.highScoreDao(), database::runInTransaction, dbExecutor, main::post);
+        }
+
+        return INSTANCE;
+    }
+
+    /**
+     * Drops the shared repository, writes already queued still finish.
+     */
+    public static synchronized void destroyInstance() {
+        if ((INSTANCE != null) && (INSTANCE.dbExecutor instanceof ExecutorService))
+            ((ExecutorService)INSTANCE.dbExecutor).shutdown();
+
+        INSTANCE = null;
+    }
+
+    /**
+     * @param dao High score DAO
+     * @param transactions Runs a task inside one database transaction, on the calling thread
+     * @param dbExecutor Runs database work, must run tasks one at a time in order
+     * @param mainExecutor Runs listener callbacks on the main thread
+     */
+    HighScoreRepository(final HighScoreDao dao, final Executor transactions, final Executor dbExecutor, final Executor mainExecutor) {
+        this.dao          = dao;
+        this.transactions = transactions;
+        this.dbExecutor   = dbExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * @param listener Told when cached best times change
+     */
+    public void addListener(final Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * @param listener Listener to remove
+     */
+    public void removeListener(final Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Gets the best times of a level from memory, never blocks.
+     * If the level has not been read yet, it is loaded in the background and listeners are told when it is ready.
+     * @param levelName Level name
+     * @return The best times, fastest first, or null while they are loading
+     */
+    public List<HighScore> getTopScores(final String levelName) {
+        synchronized (this) {
+            List<HighScore> scores = this.topScores.get(levelName);
+            if ((scores != null) || !this.loading.add(levelName))
+                return scores;
+        }
+
+        this.dbExecutor.execute(() -> {
+            List<HighScore> scores = Collections.unmodifiableList(new ArrayList<>(this.dao.getTopScoresFromLevelSorted(levelName)));
+
+            synchronized (this) {
+                this.loading.remove(levelName);
+                if (!this.topScores.containsKey(levelName))
+                    this.topScores.put(levelName, scores);
+            }
+            this.notifyChanged(levelName);
+        });
+
+        synchronized (this) { // Already there if the executor ran the load right away
+            return this.topScores.get(levelName);
+        }
+    }
+
+    /**
+     * Reads the best time, number of runs and mean time of every level in the background.
+     * @param callback Receives the statistics on the main thread
+     */
+    public void loadLevelStats(final StatsCallback callback) {
+        this.dbExecutor.execute(() -> {
+            List<LevelStats> stats = this.dao.getLevelStats();
+            this.mainExecutor.execute(() -> callback.onLevelStats(stats));
+        });
+    }
+
+    /**
+     * Saves a score in the background and updates the cached best times of its level.
+     * Its level is pruned after the inserts queued so far have run.
+     * @param score Score to save
+     */
+    public void insert(final HighScore score) {
+        this.dbExecutor.execute(() -> {
+            this.dao.insertAll(score);
+            this.schedulePrune(score.getLevelName());
+
+            boolean changed = false;
+            synchronized (this) {
+                List<HighScore> scores = this.topScores.get(score.getLevelName());
+                if (scores != null) { // Not cached yet, the next read queries it after this insert
+                    List<HighScore> merged = merge(scores, score);
+                    changed = (merged != scores);
+                    this.topScores.put(score.getLevelName(), merged);
+                }
+            }
+            if (changed)
+                this.notifyChanged(score.getLevelName());
+        });
+    }
+
+    /**
+     * Marks a level for pruning, and queues a prune behind the pending database work if none is queued.
+     * Must be called on the database thread.
+     * @param levelName Level name
+     */
+    private void schedulePrune(final String levelName) {
+        this.dirtyLevels.add(levelName);
+        if (this.pruneScheduled)
+            return;
+
+        this.pruneScheduled = true;
+        this.dbExecutor.execute(this::pruneDirtyLevels);
+    }
+
+    /**
+     * Prunes every marked level in one transaction. Runs on the database thread.
+     * The best times are never pruned, so the cached lists stay valid.
+     */
+    private void pruneDirtyLevels() {
+        this.pruneScheduled = false;
+        if (this.dirtyLevels.isEmpty())
+            return;
+
+        ArrayList<String> levels = new ArrayList<>(this.dirtyLevels);
+        this.dirtyLevels.clear();
+
+        this.transactions.execute(() -> {
+            for (String levelName : levels) {
+                PrunedRuns empty = new PrunedRuns();
+                empty.setLevelName(levelName);
+
+                this.dao.ensurePrunedRuns(empty);
+                this.dao.addPrunedRuns(levelName, KEEP_BEST, KEEP_RECENT);
+                this.dao.pruneLevel(levelName, KEEP_BEST, KEEP_RECENT);
+            }
+        });
+    }
+
+    /**
+     * Adds a score to a list of best times, if it is good enough
+     * @param scores Best times, fastest first
+     * @param score New score
+     * @return A new list if the score made it in, otherwise the same list
+     */
+    static List<HighScore> merge(final List<HighScore> scores, final HighScore score) {
+        int index = 0;
+        while ((index < scores.size()) && (scores.get(index).getTimeMs() <= score.getTimeMs()))
+            index++;
+
+        if (index >= TOP_COUNT)
+            return scores;
+
+        ArrayList<HighScore> merged = new ArrayList<>(scores);
+        merged.add(index, score);
+        while (merged.size() > TOP_COUNT)
+            merged.remove(merged.size() - 1);
+
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * Tells the listeners on the main thread that a level changed
+     * @param levelName Level name
+     */
+    private void notifyChanged(final String levelName) {
+        this.mainExecutor.execute(() -> {
+            for (Listener listener : new ArrayList<>(this.listeners))
+                listener.onTopScoresChanged(levelName);
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.imt3673.project.database;
+
+import android.arch.persistence.room.ColumnInfo;
+
+/**
+ * Aggregated times of one level, computed in SQL by HighScoreDao.getLevelStats.
+ * Includes runs that have been pruned from the high score table.
+ */
+public class LevelStats {
+    @ColumnInfo(name = "level_name")
+    private String levelName;
+
+    @ColumnInfo(name = "best_time_ms")
+    private long bestTimeMs;
+
+    @ColumnInfo(name = "run_count")
+    private long runCount;
+
+    @ColumnInfo(name = "mean_time_ms")
+    private double meanTimeMs;
+
+    public String getLevelName() {
+        return levelName;
+    }
+
+    public void setLevelName(String levelName) {
+        this.levelName = levelName;
+    }
+
+    public long getBestTimeMs() {
+        return bestTimeMs;
+    }
+
+    public void setBestTimeMs(long bestTimeMs) {
+        this.bestTimeMs = bestTimeMs;
+    }
+
+    public long getRunCount() {
+        return runCount;
+    }
+
+    public void setRunCount(long runCount) {
+        this.runCount = runCount;
+    }
+
+    public double getMeanTimeMs() {
+        return meanTimeMs;
+    }
+
+    public void setMeanTimeMs(double meanTimeMs) {
+        this.meanTimeMs = meanTimeMs;
+    }
+}
@@ -0,0 +1,39 @@
+package com.imt3673.project.database;
+
+import android.arch.persistence.room.ColumnInfo;
+import android.arch.persistence.room.Entity;
+import android.arch.persistence.room.PrimaryKey;
+import android.support.annotation.NonNull;
+
+/**
+ * Database table
+ * A time waiting to be submitted to the online leaderboard, only the best one per level is kept.
+ */
+
+@Entity(tableName = "pending_submission")
+public class PendingSubmission {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "level_name")
+    private String levelName = "";
+
+    @ColumnInfo(name = "time_ms")
+    private long timeMs;
+
+    @NonNull
+    public String getLevelName() {
+        return levelName;
+    }
+
+    public void setLevelName(@NonNull String levelName) {
+        this.levelName = levelName;
+    }
+
+    public long getTimeMs() {
+        return timeMs;
+    }
+
+    public void setTimeMs(long timeMs) {
+        this.timeMs = timeMs;
+    }
+}
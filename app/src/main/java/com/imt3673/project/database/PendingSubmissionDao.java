@@ -0,0 +1,36 @@
+package com.imt3673.project.database;
+
+import android.arch.persistence.room.Dao;
+import android.arch.persistence.room.Insert;
+import android.arch.persistence.room.OnConflictStrategy;
+import android.arch.persistence.room.Query;
+
+import java.util.List;
+
+/**
+ * DAO: Contains the methods used for accessing the leaderboard submission queue.
+ * Data Access Object
+ */
+
+@Dao
+public interface PendingSubmissionDao {
+
+    @Query("SELECT * FROM pending_submission")
+    List<PendingSubmission> getAll();
+
+    @Query("SELECT * FROM pending_submission WHERE level_name = :levelName")
+    PendingSubmission get(String levelName);
+
+    /**
+     * Adds a submission, replacing the one queued for the same level
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void put(PendingSubmission submission);
+
+    /**
+     * Removes a submitted time, unless a better one has been queued for the level since
+     * @return number of rows deleted
+     */
+    @Query("DELETE FROM pending_submission WHERE level_name = :levelName AND time_ms = :timeMs")
+    int deleteSubmitted(String levelName, long timeMs);
+}
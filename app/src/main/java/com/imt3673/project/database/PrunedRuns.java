@@ -0,0 +1,50 @@
+package com.imt3673.project.database;
+
+import android.arch.persistence.room.ColumnInfo;
+import android.arch.persistence.room.Entity;
+import android.arch.persistence.room.PrimaryKey;
+import android.support.annotation.NonNull;
+
+/**
+ * Database table
+ * Totals of the runs pruned from high_score for a level, so counts and means still include them.
+ */
+
+@Entity(tableName = "pruned_runs")
+public class PrunedRuns {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "level_name")
+    private String levelName = "";
+
+    @ColumnInfo(name = "run_count")
+    private long runCount;
+
+    @ColumnInfo(name = "time_sum")
+    private long timeSum;
+
+    @NonNull
+    public String getLevelName() {
+        return levelName;
+    }
+
+    public void setLevelName(@NonNull String levelName) {
+        this.levelName = levelName;
+    }
+
+    public long getRunCount() {
+        return runCount;
+    }
+
+    public void setRunCount(long runCount) {
+        this.runCount = runCount;
+    }
+
+    public long getTimeSum() {
+        return timeSum;
+    }
+
+    public void setTimeSum(long timeSum) {
+        this.timeSum = timeSum;
+    }
+}
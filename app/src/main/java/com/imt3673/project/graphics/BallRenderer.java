@@ -0,0 +1,84 @@
+package com.imt3673.project.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+import com.imt3673.project.Objects.Ball;
+import com.imt3673.project.Objects.BallSwarm;
+import com.imt3673.project.media.TextureSet;
+import com.imt3673.project.utils.Vector2;
+
+/**
+ * Ball Renderer - Draws the balls on a canvas as textured circles.
+ * Balls that are home, or outside the view, are skipped.
+ */
+public class BallRenderer {
+    private final BallSwarm    balls;
+    private final Bitmap       bitmap;
+    private final BitmapShader shader;
+    private final Paint        paint;
+    private final Matrix       shaderMatrix = new Matrix();
+
+    /**
+     * @param balls Balls to draw
+     * @param textureSet Textures, the ball texture must be loaded
+     */
+    public BallRenderer(final BallSwarm balls, final TextureSet textureSet) {
+        this.balls  = balls;
+        this.bitmap = textureSet.getTexture(TextureSet.BALL_TEX);
+        this.shader = new BitmapShader(this.bitmap, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT);
+        this.paint  = new Paint();
+
+        this.paint.setAntiAlias(true);
+        this.paint.setColor(Color.BLUE);
+        this.paint.setStyle(Paint.Style.FILL);
+        this.paint.setShader(this.shader);
+    }
+
+    /**
+     * @return The balls being drawn
+     */
+    public BallSwarm getBalls() {
+        return this.balls;
+    }
+
+    /**
+     * Draws the balls
+     * @param canvas Canvas
+     * @param cameraPosition Camera position
+     */
+    public void draw(final Canvas canvas, final Vector2 cameraPosition) {
+        for (int i = 0; i < this.balls.size(); i++) {
+            if (!this.balls.isHome(i))
+                this.draw(canvas, cameraPosition, this.balls.get(i));
+        }
+    }
+
+    /**
+     * Draws a ball
+     * @param canvas Canvas
+     * @param cameraPosition Camera position
+     * @param ball Ball to draw
+     */
+    private void draw(final Canvas canvas, final Vector2 cameraPosition, final Ball ball) {
+        float radius = ball.getRadius();
+        float viewX  = ball.getPosition().x - cameraPosition.x;
+        float viewY  = ball.getPosition().y - cameraPosition.y;
+
+        if ((viewX + radius < 0) || (viewX - radius > canvas.getWidth()))
+            return;
+
+        this.shaderMatrix.setScale((radius * 2) / this.bitmap.getScaledWidth(canvas), (radius * 2) / this.bitmap.getScaledWidth(canvas));
+        this.shaderMatrix.postTranslate(radius, radius);
+        this.shaderMatrix.postRotate(311); // Use this to rotate the ball
+        this.shaderMatrix.postTranslate(viewX, viewY);
+        this.shader.setLocalMatrix(this.shaderMatrix);
+
+        canvas.drawCircle(viewX, viewY, radius, this.paint);
+    }
+}
@@ -3,109 +3,189 @@ package com.imt3673.project.graphics;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
 import android.util.Log;
-import android.view.View;
+import android.view.Choreographer;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
 
-import com.imt3673.project.Objects.Ball;
-import com.imt3673.project.Objects.GameObject;
-import com.imt3673.project.Objects.Level;
-import com.imt3673.project.Objects.Timer;
 import com.imt3673.project.utils.Vector2;
 
-import java.util.ArrayList;
-
 /**
- * Canvas View - Custom canvas view used for drawing 2D graphics.
+ * Canvas View - Custom surface view used for drawing 2D graphics.
+ * Frames are drawn on a dedicated render thread, paced by Choreographer vsync callbacks,
+ * so a busy UI thread does not drop game frames.
  */
-public class CanvasView extends View {
+public class CanvasView extends SurfaceView implements SurfaceHolder.Callback, Choreographer.FrameCallback {
     private static final String TAG = CanvasView.class.getName();
 
-    private ArrayList<GameObject> gameObjects = new ArrayList<>();
-    private Level level;
-    private Ball ball;
-    private Timer levelTimer;
+    // Set on the UI thread and read on the render thread
+    private volatile LevelRenderer level;
+    private volatile BallRenderer balls;
+    private volatile TimerRenderer levelTimer;
+    private volatile Object lock = new Object(); // Held while drawing, so the game loop does not step mid-frame
     private Vector2 cameraPos = new Vector2();
 
+    private HandlerThread renderThread;
+    private Handler       renderHandler;
+    private Choreographer choreographer; // Belongs to the render thread
+    private volatile boolean rendering;
+
     /**
      * @param context Context
      */
     public CanvasView(final Context context) {
         super(context);
         setFocusable(true);
+        getHolder().addCallback(this);
+    }
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        startRendering();
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        stopRendering();
     }
 
     /**
-     * Sets timer to draw
-     * @param timer Timer object to be drawn
+     * Starts the render thread, which draws a frame on every vsync
      */
-    public void setTimer(Timer timer){
-        this.levelTimer = timer;
+    private void startRendering() {
+        renderThread = new HandlerThread("CanvasRenderer", Process.THREAD_PRIORITY_DISPLAY);
+        renderThread.start();
+        renderHandler = new Handler(renderThread.getLooper());
+        rendering = true;
+
+        renderHandler.post(() -> { // Choreographer.getInstance() must be called on the render thread
+            choreographer = Choreographer.getInstance();
+            choreographer.postFrameCallback(this);
+        });
     }
 
     /**
-     * Adds the GameObject to the canvas
-     * @param obj a gameobject to add
+     * Stops the render thread, blocks until the current frame is done
+     * so the surface is not used after it has been destroyed
      */
-    public void addGameObject(GameObject obj){
-        gameObjects.add(obj);
+    private void stopRendering() {
+        if (renderThread == null)
+            return;
+
+        rendering = false;
+        renderHandler.post(() -> {
+            if (choreographer != null)
+                choreographer.removeFrameCallback(this);
+        });
+        renderThread.quitSafely();
+
+        try {
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Log.w(TAG, "Interrupted while stopping render thread");
+            Thread.currentThread().interrupt();
+        }
+
+        renderThread  = null;
+        renderHandler = null;
+        choreographer = null;
     }
 
     /**
-     * Sets the level to draw
-     * @param level the level
+     * Called on the render thread on every vsync
+     * @param frameTimeNanos time the frame started rendering
      */
-    public void setLevel(Level level) {
-        this.level = level;
-        Log.d(TAG, "Adding level");
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!rendering)
+            return;
+
+        SurfaceHolder holder = getHolder();
+        Canvas canvas = (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) ? holder.lockHardwareCanvas() : holder.lockCanvas();
+
+        // setLevel() sets the lock before the level, so a frame that sees the level holds the lock the game loop steps under
+        LevelRenderer frameLevel = level;
+        Object        frameLock  = lock;
+
+        if (canvas != null) {
+            try {
+                synchronized (frameLock) {
+                    drawFrame(canvas, frameLevel);
+                }
+            } finally {
+                holder.unlockCanvasAndPost(canvas);
+            }
+        }
+
+        choreographer.postFrameCallback(this);
     }
 
     /**
-     * Sets the ball
-     * @param ball the ball
+     * Sets timer to draw
+     * @param timer Renderer of the level timer
+     */
+    public void setTimer(TimerRenderer timer){
+        this.levelTimer = timer;
+    }
+
+    /**
+     * Sets the level to draw, and the lock the simulation holds while stepping it.
+     * Call it before setting the balls and before the simulation starts.
+     * @param level Renderer of the level
+     * @param lock Lock held while drawing the level
      */
-    public void setBall(Ball ball){
-        this.ball = ball;
+    public void setLevel(LevelRenderer level, Object lock) {
+        this.lock  = lock;
+        this.level = level;
+        Log.d(TAG, "Adding level");
     }
 
     /**
-     * Triggers a draw call
+     * Sets the balls
+     * @param balls Renderer of the balls, the camera follows their middle
      */
-    public void draw(){
-        invalidate();
+    public void setBalls(BallRenderer balls){
+        this.balls = balls;
     }
 
     /**
+     * Draws the game objects
      * @param canvas Canvas
+     * @param level Renderer of the level, nothing but the background is drawn until it is set
      */
-    protected void onDraw(final Canvas canvas) {
+    private void drawFrame(final Canvas canvas, final LevelRenderer level) {
         // Clear the background
         canvas.drawColor(Color.WHITE);
 
-        cameraPos.x = 0;
-        cameraPos.y = 0;
+        if (level == null) // The balls and timer are set after the level
+            return;
 
-        if (ball != null) { // Update camera position
-            cameraPos.x = ball.getPosition().x - canvas.getWidth() / 2;
-        }
+        BallRenderer  balls      = this.balls;
+        TimerRenderer levelTimer = this.levelTimer;
 
-        if(level != null){ // Draw background
-            level.getBackground().draw(canvas, cameraPos);
-        }
+        cameraPos.x = 0;
+        cameraPos.y = 0;
 
-        if (level != null){ // Draw level objects
-            level.draw(canvas, cameraPos);
+        if (balls != null) { // Update camera position
+            cameraPos.x = balls.getBalls().getCenterX() - canvas.getWidth() / 2;
         }
 
-        for (GameObject obj : gameObjects){
-            obj.draw(canvas, cameraPos);
-        }
+        level.draw(canvas, cameraPos); // Draw level, including the background
 
-        if (ball != null) { // Draw ball
-            ball.draw(canvas, cameraPos);
+        if (balls != null) { // Draw balls
+            balls.draw(canvas, cameraPos);
         }
 
         if(levelTimer != null){
-            levelTimer.draw(canvas,cameraPos);
+            levelTimer.draw(canvas); // Samples the clock once per frame
         }
     }
 
@@ -0,0 +1,231 @@
+package com.imt3673.project.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.util.Log;
+
+import com.imt3673.project.Objects.Block;
+import com.imt3673.project.Objects.BlockStore;
+import com.imt3673.project.Objects.BreakableBlock;
+import com.imt3673.project.Objects.Level;
+import com.imt3673.project.Objects.LevelData;
+import com.imt3673.project.Objects.Rect;
+import com.imt3673.project.media.TextureSet;
+import com.imt3673.project.utils.Vector2;
+
+import java.util.List;
+
+/**
+ * Level Renderer - Draws a level on a canvas.
+ * The background, walls and unbroken crates come from the cached static layer,
+ * only crates that are breaking are drawn block by block.
+ * Blocks of the same type share one textured paint.
+ */
+public class LevelRenderer implements Level.Listener {
+    private static final String TAG = LevelRenderer.class.getName();
+
+    private final Level      level;
+    private final TextureSet textureSet;
+    private final Paint[]    paints       = new Paint[TextureSet.TEXTURE_COUNT]; // Created on first use, only the textures the level uses are loaded
+    private final Matrix     shaderMatrix = new Matrix();
+
+    private StaticLayerCache staticLayer; // Created on first draw, when the screen width is known
+    private int              drawnBlocks; // Blocks drawn one by one in the last frame, for diagnostics
+
+    /**
+     * @param level Level to draw
+     * @param textureSet Textures of the level
+     */
+    public LevelRenderer(final Level level, final TextureSet textureSet) {
+        this.level      = level;
+        this.textureSet = textureSet;
+
+        this.level.setListener(this);
+    }
+
+    /**
+     * Gets the size each texture of a level is drawn at, so textures can be decoded no bigger than needed
+     * @param data Level layout in pixel units
+     * @param phoneHeight Height of canvas
+     * @return Size in screen pixels indexed by texture type, 0 for textures the level does not use
+     */
+    public static int[] getTextureSizes(final LevelData data, final int phoneHeight) {
+        int   size  = (int)Math.ceil(Level.pixelSizeFor(data, phoneHeight)); // Textures are drawn one per level pixel
+        int[] sizes = new int[TextureSet.TEXTURE_COUNT];
+
+        sizes[TextureSet.FLOOR_TEX] = size;
+
+        for (int i = 0; i < data.getRectCount(); i++) {
+            int texture = textureFor(data.getRectType(i));
+            if (texture >= 0)
+                sizes[texture] = size;
+            if (texture == TextureSet.CRATE_TEX)
+                sizes[TextureSet.CRATEDAMAGED_TEX] = size;
+        }
+
+        return sizes;
+    }
+
+    /**
+     * Draws the level.
+     * @param canvas Canvas
+     * @param cameraPosition Camera position
+     */
+    public void draw(final Canvas canvas, final Vector2 cameraPosition) {
+        this.drawnBlocks = 0;
+
+        if (this.staticLayer == null) {
+            Rect background = this.level.getBackground().getRectangle();
+            this.staticLayer = new StaticLayerCache(background.width(), background.height(), canvas.getWidth(), this::renderStaticTile);
+        }
+        this.staticLayer.draw(canvas, cameraPosition);
+
+        float viewLeft   = cameraPosition.x;
+        float viewTop    = cameraPosition.y;
+        float viewRight  = viewLeft + canvas.getWidth();
+        float viewBottom = viewTop + canvas.getHeight();
+
+        List<BreakableBlock> brokenBlocks = this.level.getBrokenBlocks();
+
+        for (int i = 0; i < brokenBlocks.size(); i++) {
+            BreakableBlock block = brokenBlocks.get(i);
+            if (block.getRectangle().intersects(viewLeft, viewTop, viewRight, viewBottom)) {
+                // The texture moves with the breaking crate
+                this.drawBlock(canvas, cameraPosition, block, TextureSet.CRATEDAMAGED_TEX, block.getPosition().x, block.getPosition().y);
+                this.drawnBlocks++;
+            }
+        }
+    }
+
+    /**
+     * Marks the area of a crate that started breaking for redrawing
+     * @param block The crate
+     */
+    @Override
+    public void onBlockBroken(final BreakableBlock block) {
+        if (this.staticLayer != null)
+            this.staticLayer.invalidate(block.getRectangle().left, block.getRectangle().right);
+    }
+
+    /**
+     * Gets how many blocks were drawn one by one in the last frame, for diagnostics.
+     * Counts the blocks drawn into static layer tiles that frame and the crates that are breaking.
+     * @return Drawn blocks
+     */
+    public int getDrawnBlockCount() {
+        return this.drawnBlocks;
+    }
+
+    /**
+     * Frees the cached static layer
+     */
+    public void release() {
+        if (this.staticLayer != null) {
+            this.staticLayer.release();
+            this.staticLayer = null;
+        }
+    }
+
+    /**
+     * Draws the static blocks between left and right into a static layer tile
+     * @param canvas Canvas of the tile
+     * @param tileOrigin Top left corner of the tile, used as camera position
+     * @param left Left edge of the tile
+     * @param right Right edge of the tile
+     */
+    private void renderStaticTile(final Canvas canvas, final Vector2 tileOrigin, final float left, final float right) {
+        this.drawBlock(canvas, tileOrigin, this.level.getBackground(), TextureSet.FLOOR_TEX, 0, 0);
+
+        // The collision grid finds the blocks around the tile, however wide the blocks left of it are.
+        // Drawing holds the lock the game loop steps under, so the query does not interleave with the ball's
+        BlockStore blocks = this.level.getBlockStore();
+        int        count  = this.level.queryBlocks(left, right);
+        for (int i = 0; i < count; i++) {
+            int index = blocks.getResult(i);
+            if ((blocks.getMaxX(index) > left) && (blocks.getMinX(index) < right)) {
+                Block block = blocks.getBlock(index);
+                this.drawBlock(canvas, tileOrigin, block, textureFor(block.getType()), 0, 0);
+                this.drawnBlocks++;
+            }
+        }
+    }
+
+    /**
+     * Draws a block with a tiled texture, one texture tile per level pixel
+     * @param canvas Canvas
+     * @param cameraPosition Camera position
+     * @param block Block to draw
+     * @param texture Texture type, skipped if negative
+     * @param textureX World x the texture is anchored at
+     * @param textureY World y the texture is anchored at
+     */
+    private void drawBlock(final Canvas canvas, final Vector2 cameraPosition, final Block block, final int texture, final float textureX, final float textureY) {
+        Paint paint = this.getPaint(texture);
+        if (paint == null)
+            return;
+
+        Bitmap bitmap = this.textureSet.getTexture(texture);
+        float  scale  = Level.getPixelSize() / bitmap.getScaledWidth(canvas);
+
+        this.shaderMatrix.setScale(scale, scale);
+        this.shaderMatrix.postTranslate(textureX - cameraPosition.x, textureY - cameraPosition.y);
+        paint.getShader().setLocalMatrix(this.shaderMatrix);
+
+        Rect rect = block.getRectangle();
+        canvas.drawRect(
+                rect.left - cameraPosition.x,
+                rect.top - cameraPosition.y,
+                rect.right - cameraPosition.x,
+                rect.bottom - cameraPosition.y,
+                paint);
+    }
+
+    /**
+     * Gets the textured paint for a texture, creating it on first use
+     * @param texture Texture type
+     * @return The paint, null if the texture is not loaded
+     */
+    private Paint getPaint(final int texture) {
+        if (texture < 0)
+            return null;
+
+        if (this.paints[texture] == null) {
+            Bitmap bitmap = this.textureSet.getTexture(texture);
+            if (bitmap == null) {
+                Log.w(TAG, "Texture " + texture + " is not loaded");
+                return null;
+            }
+
+            Paint paint = new Paint();
+            paint.setStyle(Paint.Style.FILL);
+            paint.setShader(new BitmapShader(bitmap, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT));
+            this.paints[texture] = paint;
+        }
+
+        return this.paints[texture];
+    }
+
+    /**
+     * Gets the texture a block type is drawn with
+     * @param type Block type
+     * @return Texture type, -1 if the block type is not drawn
+     */
+    private static int textureFor(final int type) {
+        switch (type) {
+            case Block.TYPE_OBSTACLE:
+                return TextureSet.WALL_TEX;
+            case Block.TYPE_GOAL:
+                return TextureSet.GOAL_TEX;
+            case Block.TYPE_BREAKABLE:
+                return TextureSet.CRATE_TEX;
+            case Block.TYPE_HOLE:
+                return TextureSet.HOLE_TEX;
+            default:
+                return -1;
+        }
+    }
+}
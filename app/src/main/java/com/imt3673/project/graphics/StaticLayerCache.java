@@ -0,0 +1,163 @@
+package com.imt3673.project.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+import com.imt3673.project.utils.Vector2;
+
+/**
+ * Static Layer Cache - Caches the static part of a level as screen sized tile bitmaps.
+ * Tiles are rendered on first use and blitted every frame after that, so the per-frame cost
+ * is a couple of bitmap draws instead of one draw per block.
+ * Only a few tiles are kept in memory, the least recently used one is reused when the camera moves on.
+ */
+public class StaticLayerCache {
+    private static final int MAX_RESIDENT_TILES = 4; // Two tiles are visible at most, the rest avoid re-rendering when turning around
+
+    private final int          tileWidth;
+    private final int          tileHeight;
+    private final int          tileCount;
+    private final TileRenderer renderer;
+
+    private final Bitmap[]  slotBitmaps  = new Bitmap[MAX_RESIDENT_TILES];
+    private final int[]     slotTiles    = new int[MAX_RESIDENT_TILES];  // Tile index held by each slot, -1 if empty
+    private final long[]    slotLastUsed = new long[MAX_RESIDENT_TILES]; // Frame the slot was last drawn in
+    private final boolean[] slotDirty    = new boolean[MAX_RESIDENT_TILES];
+
+    private final Canvas  tileCanvas = new Canvas();
+    private final Vector2 tileOrigin = new Vector2();
+
+    private long frame;
+    private int  renderedTiles; // Tiles rendered so far, for diagnostics
+
+    /**
+     * Draws the static content of a horizontal range of the level into a tile.
+     */
+    public interface TileRenderer {
+        /**
+         * @param canvas Canvas backed by the tile bitmap
+         * @param tileOrigin World position of the tile's top left corner, use it as the camera position
+         * @param left Left edge of the tile in world coordinates
+         * @param right Right edge of the tile in world coordinates
+         */
+        void renderTile(Canvas canvas, Vector2 tileOrigin, float left, float right);
+    }
+
+    /**
+     * @param levelWidth Width of the level in world coordinates
+     * @param levelHeight Height of the level in world coordinates
+     * @param tileWidth Width of one tile, normally the screen width
+     * @param renderer Draws the static content of a tile
+     */
+    public StaticLayerCache(final float levelWidth, final float levelHeight, final int tileWidth, final TileRenderer renderer) {
+        this.tileWidth  = Math.max(1, tileWidth);
+        this.tileHeight = Math.max(1, (int)Math.ceil(levelHeight));
+        this.tileCount  = (int)Math.ceil(levelWidth / this.tileWidth);
+        this.renderer   = renderer;
+
+        this.tileCanvas.setDensity(Bitmap.DENSITY_NONE); // Same as the surface canvas, so textures scale the same
+
+        for (int i = 0; i < MAX_RESIDENT_TILES; i++)
+            this.slotTiles[i] = -1;
+    }
+
+    /**
+     * Blits the tiles inside the camera view.
+     * @param canvas Canvas to draw on
+     * @param cameraPosition Camera position
+     */
+    public void draw(final Canvas canvas, final Vector2 cameraPosition) {
+        this.frame++;
+
+        int first = Math.max(0, (int)Math.floor(cameraPosition.x / this.tileWidth));
+        int last  = Math.min(this.tileCount - 1, (int)Math.floor((cameraPosition.x + canvas.getWidth()) / this.tileWidth));
+
+        for (int tile = first; tile <= last; tile++) {
+            Bitmap bitmap = this.getTile(tile);
+            canvas.drawBitmap(bitmap, tile * this.tileWidth - cameraPosition.x, -cameraPosition.y, null);
+        }
+    }
+
+    /**
+     * Marks the resident tiles overlapping a horizontal range for re-rendering, eg. when a crate breaks.
+     * @param left Left edge of the changed area
+     * @param right Right edge of the changed area
+     */
+    public void invalidate(final float left, final float right) {
+        int first = (int)Math.floor(left / this.tileWidth);
+        int last  = (int)Math.floor(right / this.tileWidth);
+
+        for (int i = 0; i < MAX_RESIDENT_TILES; i++) {
+            if ((this.slotTiles[i] >= first) && (this.slotTiles[i] <= last))
+                this.slotDirty[i] = true;
+        }
+    }
+
+    /**
+     * Frees the tile bitmaps.
+     */
+    public void release() {
+        for (int i = 0; i < MAX_RESIDENT_TILES; i++) {
+            if (this.slotBitmaps[i] != null)
+                this.slotBitmaps[i].recycle();
+
+            this.slotBitmaps[i] = null;
+            this.slotTiles[i]   = -1;
+        }
+    }
+
+    /**
+     * @return Number of tiles rendered so far, for diagnostics
+     */
+    public int getRenderedTileCount() {
+        return this.renderedTiles;
+    }
+
+    /**
+     * Gets the bitmap for a tile, rendering it into the least recently used slot if it is not resident.
+     * @param tile Tile index
+     * @return Bitmap of the tile
+     */
+    private Bitmap getTile(final int tile) {
+        int slot = 0;
+
+        for (int i = 0; i < MAX_RESIDENT_TILES; i++) {
+            if (this.slotTiles[i] == tile) {
+                slot = i;
+                break;
+            }
+            if (this.slotLastUsed[i] < this.slotLastUsed[slot])
+                slot = i;
+        }
+
+        if ((this.slotTiles[slot] != tile) || this.slotDirty[slot])
+            this.renderTile(slot, tile);
+
+        this.slotLastUsed[slot] = this.frame;
+
+        return this.slotBitmaps[slot];
+    }
+
+    /**
+     * Renders a tile into a slot.
+     * @param slot Slot to render into
+     * @param tile Tile index
+     */
+    private void renderTile(final int slot, final int tile) {
+        if (this.slotBitmaps[slot] == null) // Opaque, the floor texture covers the whole level
+            this.slotBitmaps[slot] = Bitmap.createBitmap(this.tileWidth, this.tileHeight, Bitmap.Config.RGB_565);
+
+        float left = tile * this.tileWidth;
+        this.tileOrigin.set(left, 0);
+
+        this.tileCanvas.setBitmap(this.slotBitmaps[slot]);
+        this.tileCanvas.drawColor(Color.WHITE); // The last tile can reach past the end of the level
+        this.renderer.renderTile(this.tileCanvas, this.tileOrigin, left, left + this.tileWidth);
+        this.tileCanvas.setBitmap(null);
+
+        this.slotTiles[slot] = tile;
+        this.slotDirty[slot] = false;
+        this.renderedTiles++;
+    }
+}
@@ -0,0 +1,48 @@
+package com.imt3673.project.graphics;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import com.imt3673.project.Objects.Timer;
+import com.imt3673.project.utils.Vector2;
+
+/**
+ * Timer Renderer - Draws the level timer in the right corner of the screen.
+ */
+public class TimerRenderer {
+    private static final int TEXT_SIZE        = 15; // Text height is the canvas height divided by this
+    private static final int TIMER_COLUMNS    = 7;
+    private static final int TIMER_COLUMN_POS = 6;
+
+    private final Timer timer;
+    private final Paint paint;
+    private final float x;
+    private final float y;
+
+    /**
+     * @param timer Timer to draw
+     * @param canvasSize Size of the canvas on which the timer will be drawn
+     */
+    public TimerRenderer(final Timer timer, final Vector2 canvasSize) {
+        this.timer = timer;
+        this.x     = (canvasSize.x / TIMER_COLUMNS) * TIMER_COLUMN_POS;
+        this.y     = canvasSize.y / TEXT_SIZE;
+        this.paint = new Paint();
+
+        this.paint.setColor(Color.BLACK);
+        this.paint.setStyle(Paint.Style.FILL);
+        this.paint.setTextSize(canvasSize.y / TEXT_SIZE);
+    }
+
+    /**
+     * Samples the clock and draws the time, called once per frame
+     * @param canvas Canvas
+     */
+    public void draw(final Canvas canvas) {
+        this.timer.update();
+
+        char[] text = this.timer.getText();
+        canvas.drawText(text, 0, text.length, this.x, this.y, this.paint);
+    }
+}
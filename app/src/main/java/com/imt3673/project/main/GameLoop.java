@@ -0,0 +1,185 @@
+package com.imt3673.project.main;
+
+import android.util.Log;
+
+import com.imt3673.project.Objects.BallCollision;
+import com.imt3673.project.Objects.BallSwarm;
+import com.imt3673.project.Objects.Block;
+import com.imt3673.project.Objects.Level;
+import com.imt3673.project.Objects.ReplayRecorder;
+
+/**
+ * Game Loop - Runs the simulation on its own thread with a fixed time step.
+ * Sensor events only store the latest acceleration sample, the loop consumes it
+ * at a fixed rate (accumulator pattern), so physics no longer depends on sensor delivery.
+ */
+public class GameLoop implements Runnable {
+    private static final String TAG = GameLoop.class.getName();
+
+    public static final int   LOW_TICK_RATE     = 30;  // Used in battery saver mode, swept collisions keep it from tunneling
+    public static final int   DEFAULT_TICK_RATE = 60;  // Physics ticks per second
+    public static final int   FAST_TICK_RATE    = 120; // Used on displays that refresh at 90Hz or more
+    private static final float MAX_FRAME_TIME   = 0.25f; // Avoids a spiral of death after a long stall
+
+    private final BallSwarm  balls;
+    private final Level      level;
+    private final Listener   listener;
+    private final float      step;
+
+    private final Object  lock   = new Object(); // Held while the simulation is being stepped
+    private final float[] sample = new float[3]; // Latest acceleration from the sensor
+    private final float[] accel  = new float[3]; // Copy of the sample used by the current step
+
+    private volatile boolean hasSample; // The ball waits for the first sensor event
+    private ReplayRecorder   recorder;  // Only touched while holding the lock
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Receives collisions from the loop, called on the game loop thread.
+     */
+    public interface Listener {
+        /**
+         * Called for every step where a ball hit something
+         * @param hit the collision, only valid during the call
+         */
+        void onCollision(BallCollision hit);
+    }
+
+    /**
+     * @param balls Balls to simulate, usually just one
+     * @param level Level the balls are in
+     * @param tickRate Physics ticks per second
+     * @param listener Receives collisions
+     */
+    public GameLoop(final BallSwarm balls, final Level level, final int tickRate, final Listener listener) {
+        this.balls    = balls;
+        this.level    = level;
+        this.listener = listener;
+        this.step     = 1.0f / tickRate;
+    }
+
+    /**
+     * @return Lock that is held while the simulation is stepped, renderers hold it while drawing
+     */
+    public Object getLock() {
+        return this.lock;
+    }
+
+    /**
+     * Records the sample every tick uses, so the run can be replayed headless.
+     * Set it before starting the loop, so the whole run is recorded.
+     * @param recorder Recorder, null to stop recording
+     */
+    public void setRecorder(final ReplayRecorder recorder) {
+        synchronized (this.lock) {
+            this.recorder = recorder;
+        }
+    }
+
+    /**
+     * Stores the latest acceleration sample, safe to call from the sensor thread.
+     * @param values xyz acceleration data
+     */
+    public void setAcceleration(final float[] values) {
+        synchronized (this.sample) {
+            System.arraycopy(values, 0, this.sample, 0, this.sample.length);
+        }
+
+        this.hasSample = true;
+    }
+
+    /**
+     * Starts the loop thread if it is not already running.
+     */
+    public void start() {
+        if (this.running)
+            return;
+
+        this.running = true;
+        this.thread  = new Thread(this, "GameLoop");
+        this.thread.start();
+    }
+
+    /**
+     * Stops the loop thread and waits for it to finish.
+     * Can be called from the loop thread itself (eg. from the listener), then it does not wait.
+     */
+    public void stop() {
+        this.running = false;
+
+        if ((this.thread == null) || (Thread.currentThread() == this.thread))
+            return;
+
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.thread = null;
+    }
+
+    /**
+     * @return True if the loop thread is running
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public void run() {
+        long  previousTime = System.nanoTime();
+        float accumulator  = 0;
+
+        while (this.running) {
+            long  currentTime = System.nanoTime();
+            float frameTime   = Math.min((currentTime - previousTime) / 1000000000.0f, MAX_FRAME_TIME);
+            previousTime = currentTime;
+            accumulator += frameTime;
+
+            synchronized (this.lock) {
+                while ((accumulator >= this.step) && this.running) {
+                    this.tick();
+                    accumulator -= this.step;
+                }
+            }
+
+            // Sleep until the next tick is due, CanvasView renders on its own thread
+            long sleepNanos = (long)((this.step - accumulator) * 1000000000.0f);
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1000000, (int)(sleepNanos % 1000000));
+                } catch (InterruptedException e) {
+                    Log.w(TAG, "Game loop interrupted");
+                    this.running = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one fixed physics step.
+     */
+    private void tick() {
+        this.level.update(this.step);
+
+        if (!this.hasSample) {
+            if (this.recorder != null)
+                this.recorder.tick(null);
+            return;
+        }
+
+        synchronized (this.sample) {
+            System.arraycopy(this.sample, 0, this.accel, 0, this.accel.length);
+        }
+
+        if (this.recorder != null)
+            this.recorder.tick(this.accel);
+
+        BallCollision hit = this.balls.physicsUpdate(this.accel, this.step, this.level.getBlockStore());
+
+        if (hit.blockType != Block.TYPE_CLEAR)
+            this.listener.onCollision(hit);
+    }
+}
@@ -5,14 +5,13 @@ import android.animation.AnimatorInflater;
 import android.animation.AnimatorSet;
 import android.annotation.SuppressLint;
 import android.content.pm.ActivityInfo;
-import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorEventListener;
 import android.os.AsyncTask;
 import android.os.Bundle;
-import android.os.Handler;
+import android.os.PowerManager;
 import android.support.v7.app.AppCompatActivity;
 
 import android.view.View;
@@ -24,19 +23,30 @@ import android.widget.TextView;
 
 import com.imt3673.project.Objects.Ball;
 import com.imt3673.project.Objects.BallCollision;
+import com.imt3673.project.Objects.BallSwarm;
 import com.imt3673.project.Objects.Block;
 import com.imt3673.project.Objects.Level;
+import com.imt3673.project.Objects.LevelBuilder;
+import com.imt3673.project.Objects.LevelData;
+import com.imt3673.project.Objects.Replay;
+import com.imt3673.project.Objects.ReplayRecorder;
 import com.imt3673.project.Objects.Timer;
-import com.imt3673.project.database.AppDatabase;
 import com.imt3673.project.database.HighScore;
+import com.imt3673.project.database.HighScoreRepository;
+import com.imt3673.project.graphics.BallRenderer;
 import com.imt3673.project.graphics.CanvasView;
+import com.imt3673.project.graphics.LevelRenderer;
+import com.imt3673.project.graphics.TimerRenderer;
 import com.imt3673.project.media.Constants;
 import com.imt3673.project.media.MediaManager;
+import com.imt3673.project.media.ReplayStore;
 import com.imt3673.project.media.TextureManager;
 import com.imt3673.project.media.TextureSet;
 import com.imt3673.project.sensors.HapticFeedbackManager;
 import com.imt3673.project.sensors.SensorListenerManager;
 import com.imt3673.project.services.GooglePlayService;
+import com.imt3673.project.services.LeaderboardQueue;
+import com.imt3673.project.utils.TimeFormat;
 import com.imt3673.project.utils.Vector2;
 
 public class MainActivity extends AppCompatActivity {
@@ -45,18 +55,22 @@ public class MainActivity extends AppCompatActivity {
     private HapticFeedbackManager hapticManager;
     private MediaManager          mediaManager;
     private SensorListenerManager sensorManager;
-    private AppDatabase           database;
+    private HighScoreRepository   highScores;
     private String currentLevelName;
-    private String goldTime;
-    private String silverTime;
-    private String bronzeTime;
+    private long   goldTime;
+    private long   silverTime;
+    private long   bronzeTime;
+    private int    decomposition;
+    private int    ballCount;
 
     private CanvasView canvas;
     private static int canvasWidth;
     private static int canvasHeight;
 
-    private Boolean ready = false;
-    private long lastUpdateTime = 0;
+    private GameLoop       gameLoop;
+    private ReplayRecorder replayRecorder; // Debug builds record every run, see ReplayPlayer
+
+    private static final int MAX_REPLAY_SECONDS = 600;
 
     // Medals
     private final int GOLD   = 1;
@@ -65,12 +79,16 @@ public class MainActivity extends AppCompatActivity {
 
 
     //GameObjects
-    private Ball ball;
+    private BallSwarm balls;
     private Level level;
+    private LevelData levelData;
 
     private Timer levelTimer;
 
-    private Handler timeHandler;
+    //Renderers
+    private LevelRenderer levelRenderer;
+    private BallRenderer  ballRenderer;
+    private TimerRenderer timerRenderer;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -87,7 +105,6 @@ public class MainActivity extends AppCompatActivity {
      * Initializes the canvas and loads the selected level.
      */
     private void initCanvas() {
-        lastUpdateTime = System.currentTimeMillis();
         canvas.post(() -> { //So that we wait until the UI system is ready
 
             canvasWidth = canvas.getWidth();
@@ -114,12 +131,13 @@ public class MainActivity extends AppCompatActivity {
      * Initializes the main resources used by the main activity.
      */
     private void initMain() {
-        this.timeHandler      = new Handler();
-        this.database         = AppDatabase.getAppDatabase(this);
+        this.highScores       = HighScoreRepository.getInstance(this);
         this.currentLevelName = getIntent().getStringExtra("level");
-        this.goldTime         = getIntent().getStringExtra("gold_time");
-        this.silverTime       = getIntent().getStringExtra("silver_time");
-        this.bronzeTime       = getIntent().getStringExtra("bronze_time");
+        this.goldTime         = getIntent().getLongExtra("gold_time", 0);
+        this.silverTime       = getIntent().getLongExtra("silver_time", 0);
+        this.bronzeTime       = getIntent().getLongExtra("bronze_time", 0);
+        this.decomposition    = getIntent().getIntExtra("decomposition", LevelBuilder.DECOMPOSITION_GREEDY);
+        this.ballCount        = getIntent().getIntExtra("balls", 1);
     }
 
     /**
@@ -131,18 +149,50 @@ public class MainActivity extends AppCompatActivity {
         this.acceleratorSensor   = this.sensorManager.getSensor(Sensor.TYPE_ACCELEROMETER);
         this.hapticManager       = new HapticFeedbackManager(this);
         this.mediaManager        = new MediaManager(this);
+
+        TextureManager.init(this); // Already done by StartupMenu, unless the app was restarted into this activity
     }
 
     @Override
     protected void onPause() {
         super.onPause();
         this.sensorManager.removeListener(this.acceleratorListener);
+
+        if (this.gameLoop != null)
+            this.gameLoop.stop();
     }
 
     @Override
     protected void onResume() {
         super.onResume();
         this.sensorManager.addListener(this.acceleratorListener, this.acceleratorSensor);
+
+        if (this.gameLoop != null)
+            this.gameLoop.start();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        if (this.levelRenderer != null)
+            this.levelRenderer.release();
+    }
+
+    /**
+     * Physics runs at 120Hz on displays that refresh at 90Hz or more, otherwise at 60Hz.
+     * In battery saver mode it runs at 30Hz.
+     * @return Physics ticks per second
+     */
+    private int getTickRate() {
+        PowerManager powerManager = (PowerManager)getSystemService(POWER_SERVICE);
+
+        if ((powerManager != null) && powerManager.isPowerSaveMode())
+            return GameLoop.LOW_TICK_RATE;
+
+        float refreshRate = getWindowManager().getDefaultDisplay().getRefreshRate();
+
+        return (refreshRate >= 90.0f ? GameLoop.FAST_TICK_RATE : GameLoop.DEFAULT_TICK_RATE);
     }
 
     /**
@@ -161,10 +211,13 @@ public class MainActivity extends AppCompatActivity {
      * This gets called when the ball hits the goal
      */
     private void goalReached(){
+        this.gameLoop.stop();
+        this.gameLoop = null; // The level is over, so onResume must not restart it
         this.levelTimer.stop();
         this.sensorManager.removeListener(this.acceleratorListener);
 
         this.displayWinScreen();
+        this.saveReplay();
         this.saveTimeToDb();
         this.saveTimeToGooglePlay();
         this.displayLevelChooserButton();
@@ -192,22 +245,18 @@ public class MainActivity extends AppCompatActivity {
         // Display and animate the big star
         this.animateBigStar();
 
-        // Get the int value to calculate number of stars displayed
-        int newTime    = Integer.parseInt(this.levelTimer.getTime().replace(":",""));
-        int goldTime   = Integer.parseInt(this.goldTime.replace(":",""));
-        int silverTime = Integer.parseInt(this.silverTime.replace(":",""));
-        int bronzeTime = Integer.parseInt(this.bronzeTime.replace(":",""));
+        long newTime = this.levelTimer.getTimeMilliseconds();
 
         // Check times and display level-time and stars.
-        if(newTime < goldTime){
+        if(newTime < this.goldTime){
             this.animateSmallStars(GOLD);
             this.displayLevelTimes(GOLD);
         }
-        else if(newTime < silverTime){
+        else if(newTime < this.silverTime){
             this.animateSmallStars(SILVER);
             this.displayLevelTimes(SILVER);
         }
-        else if(newTime < bronzeTime){
+        else if(newTime < this.bronzeTime){
             this.animateSmallStars(BRONZE);
             this.displayLevelTimes(BRONZE);
         }
@@ -228,9 +277,9 @@ public class MainActivity extends AppCompatActivity {
         TextView bronzeTimeView = findViewById(R.id.times_to_beat_bronze);
 
         // Set the level times to beat
-        goldTimeView.setText(this.goldTime);
-        silverTimeView.setText(this.silverTime);
-        bronzeTimeView.setText(this.bronzeTime);
+        goldTimeView.setText(TimeFormat.toString(this.goldTime));
+        silverTimeView.setText(TimeFormat.toString(this.silverTime));
+        bronzeTimeView.setText(TimeFormat.toString(this.bronzeTime));
 
         // Display green text color based on medals
         switch (medal){
@@ -337,25 +386,39 @@ public class MainActivity extends AppCompatActivity {
         setScaleDownAndUp.start();
     }
 
+    /**
+     * Saves the recorded run, so it can be replayed headless. The game loop must have stopped.
+     */
+    private void saveReplay() {
+        if (this.replayRecorder == null)
+            return;
+
+        Replay      replay = this.replayRecorder.toReplay(); // Null if the run was too long to record
+        ReplayStore store  = new ReplayStore(this);
+        String      name   = this.currentLevelName;
+        this.replayRecorder = null;
+
+        if (replay != null)
+            AsyncTask.THREAD_POOL_EXECUTOR.execute(() -> store.store(name, replay));
+    }
+
     /**
      * Saves time to database
      */
     private void saveTimeToDb() {
         HighScore score = new HighScore();
         score.setLevelName(this.currentLevelName);
-        score.setLevelTime(this.levelTimer.getTime());
+        score.setTimeMs(this.levelTimer.getTimeMilliseconds());
 
-        this.database.highScoreDao().insertAll(score);
+        this.highScores.insert(score); // Written on the database thread
     }
 
     /**
-     * Saves the time to the online leaderboard on Google Play if the user is signed in.
+     * Queues the time for the online leaderboard on Google Play, it is submitted once the user is signed in.
      */
     private void saveTimeToGooglePlay() {
-        GooglePlayService googlePlayService = new GooglePlayService(this);
-
-        if (googlePlayService.isSignedIn())
-            googlePlayService.updateLeaderboard(this.currentLevelName, this.levelTimer.getTimeMilliseconds());
+        if (GooglePlayService.getInstance(this).isScoreUploadEnabled())
+            LeaderboardQueue.getInstance(this).record(this.currentLevelName, this.levelTimer.getTimeMilliseconds());
     }
 
     /**
@@ -365,6 +428,21 @@ public class MainActivity extends AppCompatActivity {
         hapticManager.vibrate(250);
     }
 
+    /**
+     * Handles a collision reported by the game loop (called on the game loop thread).
+     * @param hit The collision
+     */
+    private void onCollision(final BallCollision hit) {
+        if (hit.isImpactful() && hit.blockType != Block.TYPE_CLEAR && hit.blockType != Block.TYPE_HOLE){
+            runOnUiThread(this::collisionFeedBack);
+        }
+
+        if (hit.blockType == Block.TYPE_GOAL){
+            gameLoop.stop(); // No more steps, so the goal is only reached once
+            runOnUiThread(this::goalReached);
+        }
+    }
+
     /**
      * Accelerator Sensor Listener
      */
@@ -373,27 +451,14 @@ public class MainActivity extends AppCompatActivity {
         /**
          * Handles sensor events when a sensor has changed.
          * SENSOR_DELAY_GAME: Updates roughly about 60 times a second.
+         * Only stores the sample, the game loop runs the physics at its own fixed rate.
          * @param sensorEvent The sensor event
          */
         @Override
         public void onSensorChanged(final SensorEvent sensorEvent) {
             if (sensorEvent.sensor.getType() == Sensor.TYPE_ACCELEROMETER) {
-                long  currentTime = System.currentTimeMillis();
-                float deltaTime   = ((float)(currentTime - lastUpdateTime) / 1000.0f);
-                lastUpdateTime = currentTime;
-
-                if (ready) { //Because we dont know when the graphics will be initialized
-                    BallCollision hit = ball.physicsUpdate(sensorEvent.values, deltaTime, level.getCollisionGroups());
-                    level.update(deltaTime);
-                    canvas.draw();
-
-                    if (hit.isImpactful() && hit.blockType != Block.TYPE_CLEAR && hit.blockType != Block.TYPE_HOLE){
-                       collisionFeedBack();
-                    }
-
-                    if (hit.blockType == Block.TYPE_GOAL){
-                        goalReached();
-                    }
+                if (gameLoop != null) { //Because we dont know when the graphics will be initialized
+                    gameLoop.setAcceleration(sensorEvent.values);
                 }
             }
         }
@@ -413,17 +478,22 @@ public class MainActivity extends AppCompatActivity {
 
         @Override
         protected Void doInBackground(String... strings) {
-            TextureSet textureSet = TextureManager.getTextureSet("default");
+            levelData = mediaManager.loadLevel(strings[0], decomposition); //Cached after the first play
+
+            // Wait only for the textures this level uses, decoded at the size they are drawn at
+            int[] textureSizes = LevelRenderer.getTextureSizes(levelData, canvasHeight);
+            textureSizes[TextureSet.BALL_TEX] = (int)Math.ceil(Ball.radiusFor(canvasHeight) * 2);
+            TextureSet textureSet = TextureManager.loadTextures("default", textureSizes, TextureManager.PRIORITY_HIGH).await();
 
             level = new Level();
-            level.setTextureSet(textureSet);
-            Bitmap levelBitMap = mediaManager.loadLevelPNG(strings[0]);
-            level.buildFromPNG(levelBitMap, canvasHeight);
+            level.buildFromData(levelData, canvasHeight);
+            levelRenderer = new LevelRenderer(level, textureSet);
 
-            ball = new Ball(new Vector2(level.getSpawnPoint()), canvasHeight);
-            ball.setTexture(textureSet, TextureSet.BALL_TEX);
+            balls = BallSwarm.spawn(level, ballCount, canvasHeight);
+            ballRenderer = new BallRenderer(balls, textureSet);
 
-            levelTimer = new Timer(new Vector2(canvasWidth,canvasHeight), timeHandler);
+            levelTimer = new Timer();
+            timerRenderer = new TimerRenderer(levelTimer, new Vector2(canvasWidth,canvasHeight));
 
 
             return null;
@@ -436,11 +506,20 @@ public class MainActivity extends AppCompatActivity {
 
         @Override
         protected void onPostExecute(Void voids) {
-            canvas.setLevel(level);
-            canvas.setBall(ball);
-            canvas.setTimer(levelTimer);
+            int tickRate = getTickRate();
+            gameLoop = new GameLoop(balls, level, tickRate, MainActivity.this::onCollision);
+
+            canvas.setLevel(levelRenderer, gameLoop.getLock()); // Drawn under the lock from its first frame
+            canvas.setBalls(ballRenderer);
+            canvas.setTimer(timerRenderer);
             levelTimer.start();
-            ready = true;
+
+            if (BuildConfig.DEBUG && (balls.size() == 1)) { // Replays hold the input of a single ball run
+                replayRecorder = new ReplayRecorder(levelData, canvasHeight, tickRate, tickRate * MAX_REPLAY_SECONDS);
+                gameLoop.setRecorder(replayRecorder);
+            }
+
+            gameLoop.start();
         }
     }
 }
@@ -0,0 +1,38 @@
+package com.imt3673.project.media;
+
+import android.graphics.Bitmap;
+
+import com.imt3673.project.Objects.PixelSource;
+
+/**
+ * Bitmap Pixel Source - Lets the game core read the pixels of a decoded level PNG.
+ */
+public class BitmapPixelSource implements PixelSource {
+    private final Bitmap bitmap;
+
+    /**
+     * @param bitmap Decoded level PNG
+     */
+    public BitmapPixelSource(final Bitmap bitmap) {
+        this.bitmap = bitmap;
+    }
+
+    @Override
+    public int getWidth() {
+        return this.bitmap.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return this.bitmap.getHeight();
+    }
+
+    /**
+     * Copies the pixels with one JNI call instead of one per pixel
+     * @param pixels Array of at least width * height
+     */
+    @Override
+    public void getPixels(final int[] pixels) {
+        this.bitmap.getPixels(pixels, 0, this.bitmap.getWidth(), 0, 0, this.bitmap.getWidth(), this.bitmap.getHeight());
+    }
+}
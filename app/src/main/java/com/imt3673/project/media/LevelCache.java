@@ -0,0 +1,135 @@
+package com.imt3673.project.media;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.imt3673.project.Objects.LevelData;
+import com.imt3673.project.Objects.LevelDataFormat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Level Cache - Keeps built levels in app-private storage, so the PNG only has to be
+ * decoded and split into rectangles the first time a level is played.
+ * Files are keyed by resource id and a CRC32 of the PNG, so a changed level image is rebuilt.
+ */
+public class LevelCache {
+    private static final String LOG_TAG   = LevelCache.class.getName();
+    private static final String CACHE_DIR = "levels";
+
+    private final Context context;
+
+    /**
+     * @param context Context
+     */
+    public LevelCache(final Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Hashes the raw bytes of a resource, much cheaper than decoding it.
+     * @param resourceID Resource ID
+     * @return CRC32 of the resource
+     * @throws IOException If the resource could not be read
+     */
+    public long hashResource(final int resourceID) throws IOException {
+        CRC32  crc    = new CRC32();
+        byte[] buffer = new byte[8192];
+
+        try (InputStream stream = this.context.getResources().openRawResource(resourceID)) {
+            int read;
+            while ((read = stream.read(buffer)) > 0)
+                crc.update(buffer, 0, read);
+        }
+
+        return crc.getValue();
+    }
+
+    /**
+     * Loads a cached level with a memory mapped read.
+     * @param resourceID Resource ID of the level PNG
+     * @param hash Hash of the level PNG, and anything else the data depends on
+     * @return The level data, or null if it is not cached or the cache is stale
+     */
+    public LevelData load(final int resourceID, final long hash) {
+        File file = this.getFile(resourceID, hash);
+
+        if (!file.exists())
+            return null;
+
+        try (FileInputStream stream = new FileInputStream(file); FileChannel channel = stream.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            return LevelDataFormat.read(buffer, hash);
+        } catch (IOException e) {
+            Log.w(LOG_TAG, "Could not read cached level " + file.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a built level, replacing older cache files for the same resource.
+     * @param resourceID Resource ID of the level PNG
+     * @param hash Hash of the level PNG, and anything else the data depends on
+     * @param data The level data
+     */
+    public void store(final int resourceID, final long hash, final LevelData data) {
+        File dir = new File(this.context.getFilesDir(), CACHE_DIR);
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(LOG_TAG, "Could not create level cache directory");
+            return;
+        }
+
+        this.deleteStale(dir, resourceID);
+
+        File file = this.getFile(resourceID, hash);
+        File temp = new File(dir, file.getName() + ".tmp");
+
+        try (FileOutputStream stream = new FileOutputStream(temp)) {
+            LevelDataFormat.write(data, hash, stream);
+        } catch (IOException e) {
+            Log.w(LOG_TAG, "Could not write cached level " + file.getName(), e);
+            temp.delete();
+            return;
+        }
+
+        // Rename, so a crash while writing never leaves a half written file behind
+        if (!temp.renameTo(file))
+            temp.delete();
+    }
+
+    /**
+     * Deletes cache files for a resource that were built from an older version of the PNG.
+     * @param dir Cache directory
+     * @param resourceID Resource ID
+     */
+    private void deleteStale(final File dir, final int resourceID) {
+        File[] files = dir.listFiles();
+
+        if (files == null)
+            return;
+
+        String prefix = resourceID + "_";
+        for (File file : files) {
+            if (file.getName().startsWith(prefix))
+                file.delete();
+        }
+    }
+
+    /**
+     * @param resourceID Resource ID
+     * @param hash Hash of the PNG
+     * @return The cache file for the level
+     */
+    private File getFile(final int resourceID, final long hash) {
+        return new File(new File(this.context.getFilesDir(), CACHE_DIR), resourceID + "_" + Long.toHexString(hash) + ".bin");
+    }
+}
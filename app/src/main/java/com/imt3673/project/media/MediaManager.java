@@ -9,14 +9,22 @@ import android.graphics.BitmapFactory;
 
 import android.media.MediaPlayer;
 import android.media.SoundPool;
+import android.util.Log;
 import android.widget.Toast;
 
+import com.imt3673.project.Objects.LevelBuilder;
+import com.imt3673.project.Objects.LevelData;
+
+import java.io.IOException;
+
 /**
  *
  */
 public class MediaManager {
+    private static final String LOG_TAG = MediaManager.class.getName();
 
     private final Context   context;
+    private final LevelCache levelCache;
     private MediaPlayer     mediaPlayer;
     private final SoundPool soundPool;
     private float Volume;
@@ -28,6 +36,7 @@ public class MediaManager {
     public MediaManager(final Context context) {
         this.context   = context;
         this.soundPool = new SoundPool.Builder().setMaxStreams(2).build();
+        this.levelCache = new LevelCache(context);
 
         //Load user volume preference
         SharedPreferences settings = this.context.getSharedPreferences(com.imt3673.project.graphics.Constants.PREFERENCE_FILE, 0);
@@ -57,22 +66,65 @@ public class MediaManager {
     }
 
     /**
-     * Loads a level PNG into a bitmap and returns it
+     * Loads the layout of a level, from the level cache if the PNG has been built before.
+     * Otherwise the PNG is decoded and built, and the result is cached for the next time.
      * @param name name of level to load
+     * @param decomposition how the PNG is split into blocks, one of the LevelBuilder.DECOMPOSITION_ constants
+     * @return level data
+     */
+    public LevelData loadLevel(String name, int decomposition){
+        int  resourceID = this.getLevelID(name);
+        long key;
+
+        try { // CRC32 only uses the low 32 bits, the strategy goes in the high bits
+            key = ((long)decomposition << 32) | this.levelCache.hashResource(resourceID);
+        } catch (IOException e) {
+            Log.w(LOG_TAG, "Could not hash level " + name + ", building without cache", e);
+            return this.buildLevel(resourceID, decomposition);
+        }
+
+        LevelData data = this.levelCache.load(resourceID, key);
+        if (data != null)
+            return data;
+
+        data = this.buildLevel(resourceID, decomposition);
+        this.levelCache.store(resourceID, key, data);
+
+        return data;
+    }
+
+    /**
+     * Decodes a level PNG and builds its layout
+     * @param resourceID resource id of the level PNG
+     * @param decomposition how the PNG is split into blocks
+     * @return level data
+     */
+    private LevelData buildLevel(final int resourceID, final int decomposition) {
+        Bitmap    bitmap = this.decodeLevelPNG(resourceID);
+        LevelData data   = LevelBuilder.build(new BitmapPixelSource(bitmap), LevelBuilder.getDecomposition(decomposition));
+
+        bitmap.recycle();
+
+        return data;
+    }
+
+    /**
+     * Decodes a level PNG without density scaling
+     * @param resourceID resource id of the level PNG
      * @return bitmap of level
      */
-    public Bitmap loadLevelPNG(String name){
+    private Bitmap decodeLevelPNG(final int resourceID) {
         BitmapFactory.Options options = new BitmapFactory.Options();
         options.inScaled = false;
-        options.inMutable = true;
-        return BitmapFactory.decodeResource(
-                context.getResources(),
-                context.getResources().getIdentifier(
-                        name,
-                        "raw",
-                        context.getPackageName()
-                ), options
-        );
+        return BitmapFactory.decodeResource(this.context.getResources(), resourceID, options);
+    }
+
+    /**
+     * @param name name of level
+     * @return resource id of the level PNG
+     */
+    private int getLevelID(final String name) {
+        return this.context.getResources().getIdentifier(name, "raw", this.context.getPackageName());
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.imt3673.project.media;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.imt3673.project.Objects.Replay;
+import com.imt3673.project.Objects.ReplayFormat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Replay Store - Keeps the last recorded run of each level in app-private storage,
+ * so it can be pulled off the device and replayed headless with ReplayPlayer:
+ * adb shell run-as com.imt3673.project.main cat files/replays/level.replay > level.replay
+ */
+public class ReplayStore {
+    private static final String LOG_TAG    = ReplayStore.class.getName();
+    private static final String REPLAY_DIR = "replays";
+
+    private final Context context;
+
+    /**
+     * @param context Context
+     */
+    public ReplayStore(final Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Stores a replay, replacing the previous one for the level. Does file IO, so call it off the UI thread.
+     * @param levelName Name of the level
+     * @param replay The recorded run
+     */
+    public void store(final String levelName, final Replay replay) {
+        File dir = new File(this.context.getFilesDir(), REPLAY_DIR);
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(LOG_TAG, "Could not create replay directory");
+            return;
+        }
+
+        File file = new File(dir, levelName + ".replay");
+        File temp = new File(dir, file.getName() + ".tmp");
+
+        try (FileOutputStream stream = new FileOutputStream(temp)) {
+            ReplayFormat.write(replay, stream);
+        } catch (IOException e) {
+            Log.w(LOG_TAG, "Could not write replay " + file.getName(), e);
+            temp.delete();
+            return;
+        }
+
+        // Rename, so a crash while writing never leaves a half written file behind
+        if (!temp.renameTo(file))
+            temp.delete();
+    }
+}
@@ -1,36 +1,83 @@
 package com.imt3673.project.media;
 
 import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.os.Process;
+import android.util.DisplayMetrics;
+import android.util.Log;
 
+import com.imt3673.project.Objects.Ball;
 import com.imt3673.project.main.R;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Keeps the texture sets. Textures are decoded in the background, at the smallest
+ * power of two downsampling that still covers the size they are drawn at.
+ */
 public class TextureManager {
-    private static HashMap<String, TextureSet> textureSets;
+    private static final String TAG = TextureManager.class.getName();
+
+    public static final int PRIORITY_HIGH = 0; // Needed by the level that is loading
+    public static final int PRIORITY_LOW  = 1; // Prefetch
+
+    // Most levels are 10 pixels high, so blocks are at most a tenth of the screen height
+    private static final int PREFETCH_LEVEL_HEIGHT = 10;
 
+    private static HashMap<String, TextureSet> textureSets;
+    private static Resources resources;
+    private static ThreadPoolExecutor executor;
+    private static long taskCount; // Keeps tasks with the same priority in request order
 
     /**
-     * Initializes the texture manager and adds in the default texture set
+     * Initializes the texture manager and adds in the default texture set.
+     * Nothing is decoded here, the default set is prefetched in the background at low priority.
      * @param context context
      */
-    public static void init(Context context){
+    public static synchronized void init(Context context){
         if(textureSets != null) // To make sure we don't try to re-init
             return;
 
+        resources = context.getApplicationContext().getResources();
+        executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "TextureLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
         textureSets = new HashMap<>();
         textureSets.put("default", new TextureSet(
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.ball2),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.ground_04_light),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.wall),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.goal),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.coin),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.crate),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.crate_damaged),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.portal),
-                BitmapFactory.decodeResource(context.getResources(), R.drawable.hole)
-                ));
+                new int[]{
+                        R.drawable.ball2,
+                        R.drawable.ground_04_light,
+                        R.drawable.wall,
+                        R.drawable.goal,
+                        R.drawable.coin,
+                        R.drawable.crate,
+                        R.drawable.crate_damaged,
+                        R.drawable.portal,
+                        R.drawable.hole
+                },
+                new boolean[]{false, true, false, false, false, false, false, false, false} // Only the floor has no transparency
+        ));
+
+        // Sized for the biggest blocks, a level with smaller blocks can use these as they are
+        DisplayMetrics metrics = resources.getDisplayMetrics();
+        int screenHeight = Math.min(metrics.widthPixels, metrics.heightPixels); // The game runs in landscape
+        int[] sizes = new int[TextureSet.TEXTURE_COUNT];
+        for (int i = 0; i < sizes.length; i++)
+            sizes[i] = screenHeight / PREFETCH_LEVEL_HEIGHT;
+        sizes[TextureSet.BALL_TEX] = (int)Math.ceil(Ball.radiusFor(screenHeight) * 2);
+        loadTextures("default", sizes, PRIORITY_LOW);
     }
 
     /**
@@ -38,7 +85,7 @@ public class TextureManager {
      * @param setID key of texture set
      * @return the texture set
      */
-    public static TextureSet getTextureSet(String setID){
+    public static synchronized TextureSet getTextureSet(String setID){
         if(textureSets.containsKey(setID)){
             return textureSets.get(setID);
         } else {
@@ -52,7 +99,7 @@ public class TextureManager {
      * @param key the key to use
      * @return whether the set was added
      */
-    public static boolean addTextureSet(TextureSet set, String key){
+    public static synchronized boolean addTextureSet(TextureSet set, String key){
         if(textureSets.containsKey(key))
             return false;
 
@@ -60,4 +107,149 @@ public class TextureManager {
         return true;
     }
 
+    /**
+     * Loads textures of a set in the background. Textures that are already loaded big enough are not decoded again,
+     * textures already queued are moved up to the given priority.
+     * @param setID key of texture set
+     * @param sizes size in screen pixels each texture is drawn at, indexed by texture type, 0 if the texture is not needed
+     * @param priority PRIORITY_HIGH or PRIORITY_LOW
+     * @return request that can be waited on
+     */
+    public static TextureRequest loadTextures(String setID, int[] sizes, int priority){
+        TextureSet set = getTextureSet(setID);
+
+        int count = 0;
+        for (int size : sizes){
+            if (size > 0)
+                count++;
+        }
+        TextureRequest request = new TextureRequest(set, count);
+
+        if (set.resourceIDs == null){ // Created from bitmaps, nothing to load
+            for (int i = 0; i < count; i++)
+                request.textureLoaded();
+            return request;
+        }
+
+        for (int type = 0; type < sizes.length; type++){
+            if (sizes[type] <= 0)
+                continue;
+
+            synchronized (set){
+                if (isBigEnough(set, type, sizes[type])){
+                    request.textureLoaded();
+                    continue;
+                }
+
+                TextureTask task = set.pending[type];
+                if ((task != null) && (task.size >= sizes[type])){ // Already on its way
+                    task.requests.add(request);
+                    if ((priority < task.priority) && executor.remove(task)){
+                        task.priority = priority;
+                        executor.execute(task);
+                    }
+                    continue;
+                }
+
+                task = new TextureTask(set, type, sizes[type], priority);
+                task.requests.add(request);
+                set.pending[type] = task;
+                executor.execute(task);
+            }
+        }
+
+        return request;
+    }
+
+    /**
+     * @return whether the loaded texture covers the size, or is the full resource
+     */
+    private static boolean isBigEnough(TextureSet set, int type, int size){
+        Bitmap bitmap = set.getTexture(type);
+        return (bitmap != null) && ((bitmap.getWidth() >= size) || (bitmap.getWidth() >= set.sourceWidths[type]));
+    }
+
+    /**
+     * Gets the biggest power of two downsampling that keeps the texture at least as wide as the size it is drawn at
+     * @param sourceWidth full width of the texture
+     * @param size size the texture is drawn at
+     * @return int sample size for BitmapFactory
+     */
+    static int getSampleSize(int sourceWidth, int size){
+        int sampleSize = 1;
+        while ((size > 0) && ((sourceWidth / (sampleSize * 2)) >= size))
+            sampleSize *= 2;
+        return sampleSize;
+    }
+
+    /**
+     * Decodes a texture without density scaling, downsampled as far as the size allows
+     * @param resourceID drawable to decode
+     * @param size size the texture is drawn at
+     * @param opaque whether the texture has no transparent pixels
+     * @param sourceWidth receives the full width of the drawable
+     * @return the bitmap, or null if it could not be decoded
+     */
+    private static Bitmap decode(int resourceID, int size, boolean opaque, int[] sourceWidth){
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        BitmapFactory.decodeResource(resources, resourceID, options);
+        sourceWidth[0] = options.outWidth;
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = getSampleSize(options.outWidth, size);
+        options.inPreferredConfig = opaque ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+        return BitmapFactory.decodeResource(resources, resourceID, options);
+    }
+
+    /**
+     * Decodes one texture of a set
+     */
+    static class TextureTask implements Runnable, Comparable<TextureTask> {
+        final TextureSet set;
+        final int type;
+        final int size;
+        final long order;
+        final ArrayList<TextureRequest> requests = new ArrayList<>(); // Guarded by set
+        volatile int priority;
+
+        TextureTask(TextureSet set, int type, int size, int priority){
+            this.set = set;
+            this.type = type;
+            this.size = size;
+            this.priority = priority;
+            synchronized (TextureManager.class){
+                this.order = taskCount++;
+            }
+        }
+
+        @Override
+        public void run(){
+            int[] sourceWidth = new int[1];
+            Bitmap bitmap = decode(set.resourceIDs[type], size, set.opaque[type], sourceWidth);
+            if (bitmap == null)
+                Log.e(TAG, "Could not decode texture " + type);
+
+            synchronized (set){
+                set.sourceWidths[type] = sourceWidth[0];
+                Bitmap current = set.getTexture(type);
+                if ((bitmap != null) && ((current == null) || (current.getWidth() < bitmap.getWidth())))
+                    set.setTexture(type, bitmap); // Never replace a bigger texture
+                if (set.pending[type] == this)
+                    set.pending[type] = null;
+
+                for (TextureRequest request : requests)
+                    request.textureLoaded();
+                requests.clear();
+            }
+        }
+
+        @Override
+        public int compareTo(TextureTask other){
+            if (priority != other.priority)
+                return Integer.compare(priority, other.priority);
+            return Long.compare(order, other.order);
+        }
+    }
 }
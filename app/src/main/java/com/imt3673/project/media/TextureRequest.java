@@ -0,0 +1,48 @@
+package com.imt3673.project.media;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Texture Request - Handle for textures that are being loaded in the background.
+ */
+public class TextureRequest {
+    private final TextureSet     textureSet;
+    private final CountDownLatch remaining;
+
+    /**
+     * @param textureSet Set the textures are loaded into
+     * @param count Number of textures requested
+     */
+    TextureRequest(final TextureSet textureSet, final int count) {
+        this.textureSet = textureSet;
+        this.remaining  = new CountDownLatch(count);
+    }
+
+    /**
+     * Called when one of the requested textures is ready
+     */
+    void textureLoaded() {
+        this.remaining.countDown();
+    }
+
+    /**
+     * @return True if all requested textures are loaded
+     */
+    public boolean isDone() {
+        return this.remaining.getCount() == 0;
+    }
+
+    /**
+     * Blocks until the requested textures are loaded, do not call this on the UI thread.
+     * @return The texture set
+     */
+    public TextureSet await() {
+        try {
+            this.remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return this.textureSet;
+    }
+}
@@ -6,8 +6,14 @@ import android.graphics.Bitmap;
  * Texture sets contain the textures neccessary for one map
  */
 public class TextureSet {
-    // array containing all the textures
-    private Bitmap[] textures;
+    // array containing all the textures, textures of a lazy set are null until they are loaded
+    private final Bitmap[] textures;
+
+    // Source of each texture for sets loaded by TextureManager, null for sets created from bitmaps
+    final int[] resourceIDs;
+    final boolean[] opaque;
+    final int[] sourceWidths = new int[TEXTURE_COUNT]; // Full width of each resource, 0 until it has been read
+    final TextureManager.TextureTask[] pending = new TextureManager.TextureTask[TEXTURE_COUNT];
 
     // index constants for all texture types:
     public final static int BALL_TEX = 0;
@@ -19,6 +25,7 @@ public class TextureSet {
     public final static int CRATEDAMAGED_TEX = 6;
     public final static int PORTAL_TEX = 7;
     public final static int HOLE_TEX = 8;
+    public final static int TEXTURE_COUNT = 9;
 
     public TextureSet(Bitmap ballTex, Bitmap floorTex, Bitmap wallTex, Bitmap goalTex,
                       Bitmap coin, Bitmap crate, Bitmap damagedCrate, Bitmap portal,
@@ -34,10 +41,29 @@ public class TextureSet {
                 portal,
                 hole
         };
+        resourceIDs = null;
+        opaque = null;
     }
 
+    /**
+     * Creates a set that TextureManager decodes on demand
+     * @param resourceIDs drawable of each texture type
+     * @param opaque whether each texture has no transparent pixels, opaque textures are decoded as RGB_565
+     */
+    public TextureSet(int[] resourceIDs, boolean[] opaque){
+        if (resourceIDs.length != TEXTURE_COUNT || opaque.length != TEXTURE_COUNT)
+            throw new IllegalArgumentException("TextureSet needs " + TEXTURE_COUNT + " textures");
+
+        this.textures = new Bitmap[TEXTURE_COUNT];
+        this.resourceIDs = resourceIDs;
+        this.opaque = opaque;
+    }
 
-    public Bitmap getTexture(int textureType) {
+    public synchronized Bitmap getTexture(int textureType) {
         return textures[textureType];
     }
+
+    synchronized void setTexture(int textureType, Bitmap bitmap) {
+        textures[textureType] = bitmap;
+    }
 }
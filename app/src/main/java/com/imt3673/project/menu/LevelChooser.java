@@ -4,11 +4,14 @@ import android.support.v7.app.AppCompatActivity;
 import android.os.Bundle;
 import android.widget.ListView;
 
-import com.imt3673.project.database.AppDatabase;
+import com.imt3673.project.Objects.LevelBuilder;
+import com.imt3673.project.database.HighScoreRepository;
 import com.imt3673.project.main.R;
 
 import java.util.ArrayList;
 
+import static com.imt3673.project.utils.TimeFormat.parse;
+
 /**
  * LevelChooser activity
  * Holds a list with all the levels.
@@ -16,6 +19,7 @@ import java.util.ArrayList;
 public class LevelChooser extends AppCompatActivity {
 
     private LevelChooserListAdapter listAdapter;
+    private HighScoreRepository repository;
 
 
     @Override
@@ -31,14 +35,16 @@ public class LevelChooser extends AppCompatActivity {
         ArrayList<LevelInfo> levels = new ArrayList<>();
 
         // Add this with a new level
-        levels.add(new LevelInfo("Level 1","level1","00:10:00","00:20:00","00:40:00"));
-        levels.add(new LevelInfo("Level 2","level2","00:30:00","00:40:00","01:00:00"));
-        levels.add(new LevelInfo("Level 3","level3","00:20:00","00:40:00","01:00:00"));
-        levels.add(new LevelInfo("Level 4","level4","00:20:00","00:40:00","01:00:00"));
+        // Greedy is already minimal for level 1 and 2, the block counts are in the README (./gradlew :core:decompositionReport)
+        levels.add(new LevelInfo("Level 1","level1",parse("00:10:00"),parse("00:20:00"),parse("00:40:00")));
+        levels.add(new LevelInfo("Level 2","level2",parse("00:30:00"),parse("00:40:00"),parse("01:00:00")));
+        levels.add(new LevelInfo("Level 3","level3",parse("00:20:00"),parse("00:40:00"),parse("01:00:00"), LevelBuilder.DECOMPOSITION_OPTIMAL));
+        levels.add(new LevelInfo("Level 4","level4",parse("00:20:00"),parse("00:40:00"),parse("01:00:00"), LevelBuilder.DECOMPOSITION_OPTIMAL));
 
 
         ListView levelListView = findViewById(R.id.lv_levels);
-        this.listAdapter = new LevelChooserListAdapter(this, levels, AppDatabase.getAppDatabase(this));
+        this.repository = HighScoreRepository.getInstance(this);
+        this.listAdapter = new LevelChooserListAdapter(this, levels, this.repository);
         levelListView.setAdapter(this.listAdapter);
 
     }
@@ -46,6 +52,13 @@ public class LevelChooser extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
+        this.repository.addListener(this.listAdapter);
         this.listAdapter.notifyDataSetChanged();
     }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        this.repository.removeListener(this.listAdapter);
+    }
 }
@@ -13,10 +13,11 @@ import android.widget.ImageView;
 import android.widget.ListView;
 import android.widget.TextView;
 
-import com.imt3673.project.database.AppDatabase;
 import com.imt3673.project.database.HighScore;
+import com.imt3673.project.database.HighScoreRepository;
 import com.imt3673.project.main.MainActivity;
 import com.imt3673.project.main.R;
+import com.imt3673.project.utils.TimeFormat;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,25 +25,31 @@ import java.util.List;
 /**
  * Custom List adapter for level-chooser
  * Handles Level Items in the level-chooser list.
+ * Best times are read from the repository's memory cache, rows are redrawn when they finish loading.
  */
-public class LevelChooserListAdapter extends ArrayAdapter<LevelInfo>{
+public class LevelChooserListAdapter extends ArrayAdapter<LevelInfo> implements HighScoreRepository.Listener{
 
     private final Activity mContext;
     private ArrayList<LevelInfo> mLevelsInfo;
-    private AppDatabase mDatabase;
+    private HighScoreRepository mRepository;
 
     /**
      * Constructor
      * @param context context
      * @param levelInfo ArrayList with LevelInfo
-     * @param db database instance
+     * @param repository high score repository
      */
-    public LevelChooserListAdapter(Activity context, ArrayList<LevelInfo> levelInfo, AppDatabase db) {
+    public LevelChooserListAdapter(Activity context, ArrayList<LevelInfo> levelInfo, HighScoreRepository repository) {
         super(context, 0,levelInfo);
 
         this.mContext = context;
         this.mLevelsInfo = levelInfo;
-        this.mDatabase = db;
+        this.mRepository = repository;
+    }
+
+    @Override
+    public void onTopScoresChanged(String levelName) {
+        notifyDataSetChanged();
     }
 
     @NonNull
@@ -67,11 +74,11 @@ public class LevelChooserListAdapter extends ArrayAdapter<LevelInfo>{
 
         // Display level info
         viewHolder.levelName.setText(levelInfo.getLevelHeader());
-        String gold = " : " + levelInfo.getGoldTime();
+        String gold = " : " + TimeFormat.toString(levelInfo.getGoldTime());
         viewHolder.goldTime.setText(gold);
-        String silver = " : " + levelInfo.getSilverTime();
+        String silver = " : " + TimeFormat.toString(levelInfo.getSilverTime());
         viewHolder.silverTime.setText(silver);
-        String bronze =  " : " + levelInfo.getBronzeTime();
+        String bronze =  " : " + TimeFormat.toString(levelInfo.getBronzeTime());
         viewHolder.bronzeTime.setText(bronze);
         viewHolder.startButton.setOnClickListener(v -> {
             Intent intent = new Intent(getContext(), MainActivity.class);
@@ -79,6 +86,8 @@ public class LevelChooserListAdapter extends ArrayAdapter<LevelInfo>{
             intent.putExtra("gold_time",levelInfo.getGoldTime());
             intent.putExtra("silver_time",levelInfo.getSilverTime());
             intent.putExtra("bronze_time",levelInfo.getBronzeTime());
+            intent.putExtra("decomposition",levelInfo.getDecomposition());
+            intent.putExtra("balls",levelInfo.getBallCount());
             mContext.startActivity(intent);
         });
 
@@ -114,7 +123,7 @@ public class LevelChooserListAdapter extends ArrayAdapter<LevelInfo>{
      */
     private void handleBestTimesAndStars(ViewHolder viewHolder, LevelInfo levelInfo) {
         // Populate list with HighScores
-        List<HighScore> dbScores = this.mDatabase.highScoreDao().getTopScoresFromLevelSorted(levelInfo.getLevelId());
+        List<HighScore> dbScores = this.mRepository.getTopScores(levelInfo.getLevelId());
         ArrayList<String> bestTimes = new ArrayList<>();
 
         // Hide all stars initially to avoid level duplication due to caching
@@ -126,28 +135,27 @@ public class LevelChooserListAdapter extends ArrayAdapter<LevelInfo>{
         viewHolder.highScoreList.setAdapter(null);
 
         // Display stars based on time
-        if(!dbScores.isEmpty()){
-            HighScore currentHighScore = dbScores.get(0);
-            String currentScore = currentHighScore.getLevelTime().replace(":","");
+        if(dbScores != null && !dbScores.isEmpty()){ // null while loading, the row is redrawn when ready
+            long currentScore = dbScores.get(0).getTimeMs();
 
-            if(Integer.parseInt(currentScore) < Integer.parseInt(levelInfo.getGoldTime().replace(":",""))){
+            if(currentScore < levelInfo.getGoldTime()){
                 viewHolder.goldStar.setVisibility(View.VISIBLE);
                 viewHolder.silverStar.setVisibility(View.VISIBLE);
                 viewHolder.bronzeStar.setVisibility(View.VISIBLE);
 
             }
-            else if(Integer.parseInt(currentScore) < Integer.parseInt(levelInfo.getSilverTime().replace(":",""))){
+            else if(currentScore < levelInfo.getSilverTime()){
                 viewHolder.silverStar.setVisibility(View.VISIBLE);
                 viewHolder.bronzeStar.setVisibility(View.VISIBLE);
             }
-            else if(Integer.parseInt(currentScore) < Integer.parseInt(levelInfo.getBronzeTime().replace(":",""))){
+            else if(currentScore < levelInfo.getBronzeTime()){
                 viewHolder.bronzeStar.setVisibility(View.VISIBLE);
             }
 
             int i = 0;
             for(HighScore score : dbScores){
                 String scorePlacement;
-                scorePlacement = ++i + ".      " + score.getLevelTime();
+                scorePlacement = ++i + ".      " + TimeFormat.toString(score.getTimeMs());
                 bestTimes.add(scorePlacement);
                 if(i >= 3){
                     break;
@@ -1,5 +1,7 @@
 package com.imt3673.project.menu;
 
+import com.imt3673.project.Objects.LevelBuilder;
+
 /**
  * Class that holds all the information about a level
  */
@@ -7,24 +9,55 @@ public class LevelInfo {
 
     private String levelHeader;
     private String levelId;
-    private String goldTime;
-    private String silverTime;
-    private String bronzeTime;
+    private long goldTime;
+    private long silverTime;
+    private long bronzeTime;
+    private int decomposition;
+    private int ballCount;
+
+    /**
+     * Level info constructor
+     * @param levelHeader Name of level Displayed
+     * @param levelId Level id, name of the level png in  res/raw/
+     * @param goldTime time to get the gold medal in milliseconds
+     * @param silverTime time to get the silver medal in milliseconds
+     * @param bronzeTime time to get the bronze medal in milliseconds
+     */
+    LevelInfo(String levelHeader,String levelId, long goldTime, long silverTime, long bronzeTime) {
+        this(levelHeader, levelId, goldTime, silverTime, bronzeTime, LevelBuilder.DECOMPOSITION_GREEDY);
+    }
 
     /**
      * Level info constructor
      * @param levelHeader Name of level Displayed
      * @param levelId Level id, name of the level png in  res/raw/
-     * @param goldTime time to get the gold medal
-     * @param silverTime time to get the silver medal
-     * @param bronzeTime time to get the bronze medal
+     * @param goldTime time to get the gold medal in milliseconds
+     * @param silverTime time to get the silver medal in milliseconds
+     * @param bronzeTime time to get the bronze medal in milliseconds
+     * @param decomposition how the level png is split into blocks, one of the LevelBuilder.DECOMPOSITION_ constants
      */
-    LevelInfo(String levelHeader,String levelId, String goldTime, String silverTime, String bronzeTime) {
+    LevelInfo(String levelHeader,String levelId, long goldTime, long silverTime, long bronzeTime, int decomposition) {
+        this(levelHeader, levelId, goldTime, silverTime, bronzeTime, decomposition, 1);
+    }
+
+    /**
+     * Level info constructor
+     * @param levelHeader Name of level Displayed
+     * @param levelId Level id, name of the level png in  res/raw/
+     * @param goldTime time to get the gold medal in milliseconds
+     * @param silverTime time to get the silver medal in milliseconds
+     * @param bronzeTime time to get the bronze medal in milliseconds
+     * @param decomposition how the level png is split into blocks, one of the LevelBuilder.DECOMPOSITION_ constants
+     * @param ballCount number of balls spawned, all must reach the goal (eg. a swarm challenge)
+     */
+    LevelInfo(String levelHeader,String levelId, long goldTime, long silverTime, long bronzeTime, int decomposition, int ballCount) {
         this.levelHeader = levelHeader;
         this.levelId = levelId;
         this.goldTime = goldTime;
         this.silverTime = silverTime;
         this.bronzeTime = bronzeTime;
+        this.decomposition = decomposition;
+        this.ballCount = ballCount;
     }
 
     public String getLevelHeader() {
@@ -43,28 +76,44 @@ public class LevelInfo {
         this.levelId = levelId;
     }
 
-    public String getGoldTime() {
+    public long getGoldTime() {
         return goldTime;
     }
 
-    public void setGoldTime(String goldTime) {
+    public void setGoldTime(long goldTime) {
         this.goldTime = goldTime;
     }
 
-    public String getSilverTime() {
+    public long getSilverTime() {
         return silverTime;
     }
 
-    public void setSilverTime(String silverTime) {
+    public void setSilverTime(long silverTime) {
         this.silverTime = silverTime;
     }
 
-    public String getBronzeTime() {
+    public long getBronzeTime() {
         return bronzeTime;
     }
 
-    public void setBronzeTime(String bronzeTime) {
+    public void setBronzeTime(long bronzeTime) {
         this.bronzeTime = bronzeTime;
     }
 
+    public int getDecomposition() {
+        return decomposition;
+    }
+
+    public void setDecomposition(int decomposition) {
+        this.decomposition = decomposition;
+    }
+
+    public int getBallCount() {
+        return ballCount;
+    }
+
+    public void setBallCount(int ballCount) {
+        this.ballCount = ballCount;
+    }
+
 }
@@ -8,9 +8,11 @@ import android.view.View;
 import android.widget.Button;
 
 import com.imt3673.project.database.AppDatabase;
+import com.imt3673.project.database.HighScoreRepository;
 import com.imt3673.project.main.R;
 import com.imt3673.project.media.TextureManager;
 import com.imt3673.project.services.GooglePlayService;
+import com.imt3673.project.services.LeaderboardQueue;
 
 import static com.imt3673.project.services.Constants.GOOGLE_SIGNIN_RESULT;
 
@@ -32,7 +34,8 @@ public class StartupMenu extends AppCompatActivity {
         if (getSupportActionBar() != null)
             getSupportActionBar().hide();
 
-        this.googlePlayService = new GooglePlayService(this);
+        this.googlePlayService = GooglePlayService.getInstance(this);
+        LeaderboardQueue.getInstance(this); // Flushes queued times whenever the user is signed in
 
         TextureManager.init(this);
     }
@@ -76,9 +79,9 @@ public class StartupMenu extends AppCompatActivity {
         Button googlePlayBtn  = findViewById(R.id.StartupMenu_googlePlay_btn);
         Button leaderboardBtn = findViewById(R.id.StartupMenu_googlePlayLeaderboard_btn);
 
-        if (!this.googlePlayService.isSignedIn()) {
+        if (!this.googlePlayService.isSignedIn(this)) {
             googlePlayBtn.setText(R.string.menu_signIn_button);
-            googlePlayBtn.setOnClickListener((View v) -> googlePlayService.signIn());
+            googlePlayBtn.setOnClickListener((View v) -> googlePlayService.signIn(this));
 
             leaderboardBtn.setEnabled(false);
         } else {
@@ -86,7 +89,7 @@ public class StartupMenu extends AppCompatActivity {
             googlePlayBtn.setOnClickListener((View v) -> googlePlayService.signOut(this::updateGooglePlayButton));
 
             leaderboardBtn.setEnabled(true);
-            leaderboardBtn.setOnClickListener((View v) -> googlePlayService.showLeaderboard());
+            leaderboardBtn.setOnClickListener((View v) -> googlePlayService.showLeaderboard(this));
         }
 
         return null;
@@ -95,6 +98,8 @@ public class StartupMenu extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        LeaderboardQueue.destroyInstance();
+        HighScoreRepository.destroyInstance();
         AppDatabase.destroyInstance();
         Log.i("StartupMenu","Clean up database");
     }
@@ -7,6 +7,8 @@ import android.content.DialogInterface;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.v7.app.AlertDialog;
 import android.util.Log;
 import android.view.Gravity;
@@ -25,8 +27,8 @@ import com.google.android.gms.games.GamesClient;
 import com.google.android.gms.games.LeaderboardsClient;
 import com.google.android.gms.games.Player;
 import com.google.android.gms.games.PlayersClient;
-import com.google.android.gms.games.leaderboard.ScoreSubmissionData;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.imt3673.project.main.R;
 
 import java.util.ArrayList;
@@ -34,30 +36,52 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import static com.imt3673.project.graphics.Constants.PREFERENCE_FILE;
 import static com.imt3673.project.graphics.Constants.PREFERENCE_GP_SCORE;
 
 /**
  * Google Play Service - Manages the Google Play Services including authentication, leaderboards etc.
+ * One instance is shared by the whole app, it only holds the application context,
+ * methods that show UI take the activity to show it on.
  */
-public class GooglePlayService {
+public class GooglePlayService implements LeaderboardClient {
+
+    private static GooglePlayService INSTANCE;
 
     private final Context               context;
+    private final Handler               mainHandler;
     private GoogleSignInAccount         googleAccount;
     private final GoogleApiAvailability googleApiAvailability;
     private LeaderboardsClient          leaderboardsClient;
     private final Map<String, String>   leaderboards = new HashMap<>();
     private final String                LOG_TAG      = GooglePlayService.class.getName();
     private Player                      player;
+    private volatile Runnable           onSignedIn;
+    private boolean                     signedIn;
+
+    /**
+     * @param context Context
+     * @return The shared Google Play Service
+     */
+    public static synchronized GooglePlayService getInstance(final Context context) {
+        if (INSTANCE == null)
+            INSTANCE = new GooglePlayService(context.getApplicationContext());
+
+        return INSTANCE;
+    }
 
     /**
      * Google Play Service - default constructor
-     * @param context Context from calling activity
+     * @param context Application context
      */
-    public GooglePlayService(final Context context) {
+    private GooglePlayService(final Context context) {
         this.context               = context;
+        this.mainHandler           = new Handler(Looper.getMainLooper());
         this.googleApiAvailability = GoogleApiAvailability.getInstance();
+
+        this.setLeaderboardIDs();
     }
 
     /**
@@ -70,7 +94,7 @@ public class GooglePlayService {
         if (result.isSuccess())
             this.googleAccount = result.getSignInAccount();
 
-        if (!this.isSignedIn()) {
+        if (!this.isSignedIn(null)) {
             Toast.makeText(context, context.getString(R.string.error_authentication), Toast.LENGTH_LONG).show();
             Log.w(LOG_TAG, context.getString(R.string.error_authentication));
         }
@@ -109,29 +133,43 @@ public class GooglePlayService {
     }
 
     /**
+     * @return True if uploading times to the leaderboard is turned on in the options
+     */
+    @Override
+    public boolean isScoreUploadEnabled() {
+        SharedPreferences settings = this.context.getSharedPreferences(PREFERENCE_FILE, 0);
+
+        return settings.getBoolean(PREFERENCE_GP_SCORE, true);
+    }
+
+    /**
+     * @param activity Activity to show errors on, null to not show them
      * @return True if the user is already signed in, False otherwise
      */
-    public boolean isSignedIn() {
+    public boolean isSignedIn(final Activity activity) {
         boolean signedIn;
 
         // Try to re-use existing user account if possible before authenticating the user.
         this.googleAccount = GoogleSignIn.getLastSignedInAccount(this.context);
 
-        signedIn = ((this.googleAccount != null) && this.isGoogleApiAvailable());
+        signedIn = ((this.googleAccount != null) && this.isGoogleApiAvailable(this.googleAccount, activity));
 
         if (signedIn)
             this.updatePlayer();
+        else
+            this.signedIn = false;
 
         return signedIn;
     }
 
     /**
      * Assigns the specified resource view to be used for popups like achievements etc.
+     * @param activity Activity holding the view
      * @param resourceID Resource ID of the view
      */
-    public void setPopupView(final int resourceID) {
+    public void setPopupView(final Activity activity, final int resourceID) {
         GamesClient gamesClient = Games.getGamesClient(this.context, this.googleAccount);
-        gamesClient.setViewForPopups(((Activity)this.context).findViewById(resourceID));
+        gamesClient.setViewForPopups(activity.findViewById(resourceID));
 
         // Align the popup relative to the screen
         gamesClient.setGravityForPopups(Gravity.TOP | Gravity.CENTER_HORIZONTAL);
@@ -139,20 +177,22 @@ public class GooglePlayService {
 
     /**
      * Displays the leaderboard UI.
+     * @param activity Activity to show it on
      */
-    public void showLeaderboard() {
+    public void showLeaderboard(final Activity activity) {
         ArrayList<String> levels = new ArrayList<>(this.leaderboards.keySet());
         Collections.sort(levels, String::compareTo);
 
-        this.selectLevel(levels);
+        this.selectLevel(activity, levels);
     }
 
     /**
      * Tries to sign the user in to Google Play Games Services.
+     * @param activity Activity to show the sign in UI on, it receives the result in onActivityResult
      */
-    public void signIn() {
-        if (!this.isSignedIn())
-            this.authenticate();
+    public void signIn(final Activity activity) {
+        if (!this.isSignedIn(activity))
+            this.authenticate(activity);
     }
 
     /**
@@ -164,49 +204,86 @@ public class GooglePlayService {
     }
 
     /**
-     * Updates the current leaderboard with the specified time for the current user.
+     * @return True if the user is signed in and Google Play Games is available, never shows UI
+     */
+    @Override
+    public boolean canSubmit() {
+        GoogleSignInAccount account = GoogleSignIn.getLastSignedInAccount(this.context);
+
+        return ((account != null) && this.isGoogleApiAvailable(account, null));
+    }
+
+    /**
+     * Submits a time to the leaderboard of a level and waits for the result.
      * https://developers.google.com/android/reference/com/google/android/gms/games/LeaderboardsClient
      * @param level Level Name (ID)
      * @param time Time (in milliseconds) used to complete the level
+     * @return True if the time was submitted, False if it should be retried later
      */
-    public void updateLeaderboard(final String level, final long time) {
-        SharedPreferences settings    = this.context.getSharedPreferences(PREFERENCE_FILE, 0);
-        boolean           uploadScore = settings.getBoolean(PREFERENCE_GP_SCORE,true);
-
-        if (uploadScore) {
-            this.leaderboardsClient.submitScoreImmediate(this.leaderboards.get(level), time)
-                .addOnCompleteListener((Task<ScoreSubmissionData> task) -> {
-                    if (task.isSuccessful()) {
-                        Toast.makeText(context, context.getString(R.string.gp_submit_score_success), Toast.LENGTH_LONG).show();
-                    } else {
-                        Toast.makeText(context, context.getString(R.string.gp_submit_score_fail), Toast.LENGTH_LONG).show();
-                        Log.w(LOG_TAG, task.getException());
-                    }
-                });
+    @Override
+    public boolean submitScore(final String level, final long time) {
+        GoogleSignInAccount account       = GoogleSignIn.getLastSignedInAccount(this.context);
+        String              leaderboardID = this.leaderboards.get(level);
+
+        if (account == null)
+            return false;
+
+        // Nothing to submit to, drop the time
+        if (leaderboardID == null) {
+            Log.w(LOG_TAG, "No leaderboard for " + level);
+            return true;
+        }
+
+        try {
+            Tasks.await(Games.getLeaderboardsClient(this.context, account).submitScoreImmediate(leaderboardID, time));
+        } catch (ExecutionException e) {
+            Log.w(LOG_TAG, e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
+
+        return true;
+    }
+
+    /**
+     * Shows one success message for a flush, however many levels it submitted
+     * @param count Number of times submitted by the flush
+     */
+    @Override
+    public void onScoresSubmitted(final int count) {
+        this.mainHandler.post(() -> Toast.makeText(context, context.getString(R.string.gp_submit_score_success), Toast.LENGTH_LONG).show());
+    }
+
+    /**
+     * @param listener Run on the main thread when the user becomes signed in, null to remove
+     */
+    @Override
+    public void setOnSignedInListener(final Runnable listener) {
+        this.onSignedIn = listener;
     }
 
     /**
      * Tries to authenticate the user silently first if they have already signed in,
      * otherwise they get an explicit UI to install the necessary services and pick a user.
+     * @param activity Activity to show the sign in UI on
      */
-    private void authenticate() {
+    private void authenticate(final Activity activity) {
         GoogleSignInClient googleClient = GoogleSignIn.getClient(this.context, GoogleSignInOptions.DEFAULT_GAMES_SIGN_IN);
 
         googleClient.silentSignIn().addOnCompleteListener((Task<GoogleSignInAccount> task) -> {
             // User is authenticated
-            if (task.isSuccessful() && isGoogleApiAvailable()) {
+            if (task.isSuccessful() && isGoogleApiAvailable(task.getResult(), activity)) {
                 googleAccount = task.getResult();
 
-                if (!this.isSignedIn()) {
+                if (!this.isSignedIn(activity)) {
                     Toast.makeText(context, context.getString(R.string.error_authentication), Toast.LENGTH_LONG).show();
                     Log.w(LOG_TAG, context.getString(R.string.error_authentication));
                 }
-
-                updatePlayer();
             // Open Google Sign-in (intent result will be handled in the calling activity)
             } else {
-                ((Activity)context).startActivityForResult(googleClient.getSignInIntent(), Constants.GOOGLE_SIGNIN_RESULT);
+                activity.startActivityForResult(googleClient.getSignInIntent(), Constants.GOOGLE_SIGNIN_RESULT);
             }
         });
     }
@@ -218,8 +295,7 @@ public class GooglePlayService {
         this.googleAccount      = null;
         this.leaderboardsClient = null;
         this.player             = null;
-
-        this.leaderboards.clear();
+        this.signedIn           = false;
 
         try {
             cleanupFunction.call();
@@ -230,15 +306,17 @@ public class GooglePlayService {
 
     /**
      * Checks if the necessary Google API services are available.
+     * @param account Signed in account
+     * @param activity Activity to show an error dialog on, null to not show it
      */
-    private boolean isGoogleApiAvailable() {
+    private boolean isGoogleApiAvailable(final GoogleSignInAccount account, final Activity activity) {
         int result = this.googleApiAvailability.isGooglePlayServicesAvailable(this.context);
 
         // Tell the user that the service is not available if check failed
-        if ((result != ConnectionResult.SUCCESS) || !GoogleSignIn.hasPermissions(this.googleAccount, Games.SCOPE_GAMES_LITE)) {
-            Dialog errorDialog = this.googleApiAvailability.getErrorDialog(
-                (Activity)this.context, result, 0, DialogInterface::dismiss
-            );
+        if ((result != ConnectionResult.SUCCESS) || !GoogleSignIn.hasPermissions(account, Games.SCOPE_GAMES_LITE)) {
+            Dialog errorDialog = (activity != null) ? this.googleApiAvailability.getErrorDialog(
+                activity, result, 0, DialogInterface::dismiss
+            ) : null;
 
             if (errorDialog != null)
                 errorDialog.show();
@@ -251,10 +329,11 @@ public class GooglePlayService {
 
     /**
      * Displays a list of levels the user can select from.
+     * @param activity Activity to show the list on
      * @param levels List of levels
      */
-    private void selectLevel(final ArrayList<String> levels) {
-        AlertDialog.Builder dialog = new AlertDialog.Builder(this.context);
+    private void selectLevel(final Activity activity, final ArrayList<String> levels) {
+        AlertDialog.Builder dialog = new AlertDialog.Builder(activity);
 
         dialog.setTitle(R.string.level_chooser_title);
         dialog.setIcon(R.mipmap.ic_launcher);
@@ -263,7 +342,7 @@ public class GooglePlayService {
             levels.toArray(new CharSequence[levels.size()]),
             (DialogInterface d, int i) -> {
                 d.dismiss();
-                showLeaderboard(levels.get(i));
+                showLeaderboard(activity, levels.get(i));
             }
         );
 
@@ -272,15 +351,20 @@ public class GooglePlayService {
 
     /**
      * TODO: Uncomment new levels added (levels list is only available in the LevelChooser activity)
-     * Sets the leaderboard for the current user account.
+     * Sets the leaderboard IDs of the levels, they do not depend on the user account.
      */
-    private void setLeaderboard() {
+    private void setLeaderboardIDs() {
         this.leaderboards.put("level1", this.context.getString(R.string.leaderboard_level1));
         this.leaderboards.put("level2", this.context.getString(R.string.leaderboard_level2));
         this.leaderboards.put("level3", this.context.getString(R.string.leaderboard_level3));
         this.leaderboards.put("level4", this.context.getString(R.string.leaderboard_level4));
         //this.leaderboards.put("level5", this.context.getString(R.string.leaderboard_level5));
+    }
 
+    /**
+     * Sets the leaderboard client for the current user account.
+     */
+    private void setLeaderboard() {
         this.leaderboardsClient = Games.getLeaderboardsClient(this.context, this.googleAccount);
     }
 
@@ -302,11 +386,11 @@ public class GooglePlayService {
     /**
      * Displays the leaderboard UI for the specified level.
      */
-    private void showLeaderboard(final String level) {
+    private void showLeaderboard(final Activity activity, final String level) {
         this.leaderboardsClient.getLeaderboardIntent(this.leaderboards.get(level))
             .addOnCompleteListener((Task<Intent> task) -> {
                 if (task.isSuccessful()) {
-                    ((Activity)context).startActivityForResult(task.getResult(), Constants.LEADERBOARD_UI);
+                    activity.startActivityForResult(task.getResult(), Constants.LEADERBOARD_UI);
                 } else {
                     Toast.makeText(context, context.getString(R.string.gp_show_leaderboard_fail), Toast.LENGTH_LONG).show();
                     Log.w(LOG_TAG, task.getException());
@@ -316,10 +400,20 @@ public class GooglePlayService {
 
     /**
      * Sets the player and leaderboard based on the the authenticated google account.
+     * The sign-in listener only runs when the user was not signed in before.
      */
     private void updatePlayer() {
         this.setLeaderboard();
         this.setPlayer();
+
+        if (this.signedIn)
+            return;
+
+        this.signedIn = true;
+
+        Runnable listener = this.onSignedIn;
+        if (listener != null)
+            listener.run();
     }
 
 }
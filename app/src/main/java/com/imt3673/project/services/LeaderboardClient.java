@@ -0,0 +1,36 @@
+package com.imt3673.project.services;
+
+/**
+ * Leaderboard Client - The online leaderboard the LeaderboardQueue submits times to.
+ */
+public interface LeaderboardClient {
+
+    /**
+     * @return True if times can be submitted right now, may be called off the main thread
+     */
+    boolean canSubmit();
+
+    /**
+     * @return True if the player allows uploading times, may be called off the main thread
+     */
+    boolean isScoreUploadEnabled();
+
+    /**
+     * Submits a time and waits for the result, never called on the main thread.
+     * @param levelName Level Name (ID)
+     * @param timeMs Time (in milliseconds) used to complete the level
+     * @return True if the leaderboard has the time, False if it should be retried later
+     */
+    boolean submitScore(String levelName, long timeMs);
+
+    /**
+     * Called once after a flush that submitted times, never called on the main thread.
+     * @param count Number of times submitted by the flush
+     */
+    void onScoresSubmitted(int count);
+
+    /**
+     * @param listener Run on the main thread when the user becomes signed in, null to remove
+     */
+    void setOnSignedInListener(Runnable listener);
+}
@@ -0,0 +1,130 @@
+package com.imt3673.project.services;
+
+import android.content.Context;
+
+import com.imt3673.project.database.AppDatabase;
+import com.imt3673.project.database.PendingSubmission;
+import com.imt3673.project.database.PendingSubmissionDao;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Leaderboard Queue - Offline first submission of times to the online leaderboard.
+ * Every run is recorded in the pending_submission table first, which only keeps the best time
+ * of each level, so nothing is lost while the player is offline or signed out.
+ * The queue is flushed in one batch on a background worker when the leaderboard becomes available
+ * and the player allows uploading times. Times stay queued while uploading is turned off.
+ */
+public class LeaderboardQueue {
+
+    private static LeaderboardQueue INSTANCE;
+
+    private final PendingSubmissionDao dao;
+    private final LeaderboardClient    client;
+    private final Executor             worker;
+
+    private boolean flushScheduled; // Worker thread only
+
+    /**
+     * @param context Context
+     * @return The shared queue, submitting to Google Play Games
+     */
+    public static synchronized LeaderboardQueue getInstance(final Context context) {
+        if (INSTANCE == null) {
+            ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "LeaderboardQueue"));
+            GooglePlayService client = GooglePlayService.getInstance(context);
+
+            INSTANCE = new LeaderboardQueue(AppDatabase.getAppDatabase(context).pendingSubmissionDao(), client, worker);
+        }
+
+        return INSTANCE;
+    }
+
+    /**
+     * Drops the shared queue, work already queued still finishes.
+     */
+    public static synchronized void destroyInstance() {
+        if (INSTANCE == null)
+            return;
+
+        INSTANCE.client.setOnSignedInListener(null);
+        if (INSTANCE.worker instanceof ExecutorService)
+            ((ExecutorService)INSTANCE.worker).shutdown();
+
+        INSTANCE = null;
+    }
+
+    /**
+     * @param dao Pending submission DAO
+     * @param client Leaderboard to submit to
+     * @param worker Runs database and network work, must run tasks one at a time in order
+     */
+    LeaderboardQueue(final PendingSubmissionDao dao, final LeaderboardClient client, final Executor worker) {
+        this.dao    = dao;
+        this.client = client;
+        this.worker = worker;
+
+        this.client.setOnSignedInListener(this::flush);
+    }
+
+    /**
+     * Records a run in the background and submits it right away if the leaderboard is available.
+     * @param levelName Level Name (ID)
+     * @param timeMs Time (in milliseconds) used to complete the level
+     */
+    public void record(final String levelName, final long timeMs) {
+        this.worker.execute(() -> {
+            PendingSubmission pending = this.dao.get(levelName);
+            if ((pending == null) || (timeMs < pending.getTimeMs())) {
+                PendingSubmission submission = new PendingSubmission();
+                submission.setLevelName(levelName);
+                submission.setTimeMs(timeMs);
+
+                this.dao.put(submission);
+            }
+        });
+
+        this.flush();
+    }
+
+    /**
+     * Submits the queued times in the background, if the leaderboard is available.
+     * Flushes requested while one is queued are merged into it.
+     */
+    public void flush() {
+        this.worker.execute(() -> {
+            if (this.flushScheduled)
+                return;
+
+            this.flushScheduled = true;
+            this.worker.execute(this::submitPending);
+        });
+    }
+
+    /**
+     * Submits every queued time, stops at the first failure so the rest is retried on the next flush.
+     * The client is told once how many times the flush submitted.
+     * Runs on the worker thread.
+     */
+    private void submitPending() {
+        this.flushScheduled = false;
+        if (!this.client.isScoreUploadEnabled() || !this.client.canSubmit())
+            return;
+
+        List<PendingSubmission> pending   = this.dao.getAll();
+        int                     submitted = 0;
+        for (PendingSubmission submission : pending) {
+            if (!this.client.submitScore(submission.getLevelName(), submission.getTimeMs()))
+                break;
+
+            this.dao.deleteSubmitted(submission.getLevelName(), submission.getTimeMs());
+            submitted++;
+        }
+
+        if (submitted > 0)
+            this.client.onScoresSubmitted(submitted);
+    }
+}
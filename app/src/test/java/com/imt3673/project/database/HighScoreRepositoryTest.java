@@ -0,0 +1,260 @@
+package com.imt3673.project.database;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the high score cache against an in-memory DAO, with both executors running tasks directly.
+ */
+public class HighScoreRepositoryTest {
+    private FakeHighScoreDao dao;
+    private HighScoreRepository repository;
+    private ArrayList<String> changed;
+
+    @Before
+    public void setUp() {
+        dao = new FakeHighScoreDao();
+        repository = new HighScoreRepository(dao, dao::runInTransaction, Runnable::run, Runnable::run);
+        changed = new ArrayList<>();
+        repository.addListener(changed::add);
+    }
+
+    @Test
+    public void getTopScores_queriesEachLevelOnce() {
+        dao.insertAll(score("level1", 5000), score("level1", 3000));
+
+        repository.getTopScores("level1");
+        List<HighScore> scores = repository.getTopScores("level1");
+
+        assertEquals(1, dao.queries);
+        assertEquals(2, scores.size());
+        assertEquals(3000, scores.get(0).getTimeMs());
+        assertEquals(1, changed.size());
+    }
+
+    @Test
+    public void insert_updatesCachedLevelWithoutQuery() {
+        dao.insertAll(score("level1", 5000), score("level1", 6000), score("level1", 7000));
+        repository.getTopScores("level1");
+        changed.clear();
+
+        repository.insert(score("level1", 5500));
+        List<HighScore> scores = repository.getTopScores("level1");
+
+        assertEquals(1, dao.queries);
+        assertEquals(4, dao.rows.size());
+        assertEquals(3, scores.size());
+        assertEquals(5000, scores.get(0).getTimeMs());
+        assertEquals(5500, scores.get(1).getTimeMs());
+        assertEquals(6000, scores.get(2).getTimeMs());
+        assertEquals(1, changed.size());
+    }
+
+    @Test
+    public void insert_slowTimeDoesNotNotify() {
+        dao.insertAll(score("level1", 1000), score("level1", 2000), score("level1", 3000));
+        repository.getTopScores("level1");
+        changed.clear();
+
+        repository.insert(score("level1", 9000));
+
+        assertTrue(changed.isEmpty());
+        assertEquals(3000, repository.getTopScores("level1").get(2).getTimeMs());
+    }
+
+    @Test
+    public void insert_uncachedLevelIsNotQueried() {
+        repository.insert(score("level2", 4000));
+
+        assertEquals(0, dao.queries);
+        assertEquals(1, repository.getTopScores("level2").size());
+    }
+
+    @Test
+    public void insert_prunesToBestAndRecent() {
+        for (int i = 0; i < 40; i++) {
+            repository.insert(score("level1", 1000 + (i * 7919) % 40 * 100));
+        }
+
+        List<HighScore> top = repository.getTopScores("level1");
+        LevelStats stats = dao.getLevelStats().get(0);
+
+        assertTrue(dao.rows.size() <= HighScoreRepository.KEEP_BEST + HighScoreRepository.KEEP_RECENT);
+        assertEquals(1000, top.get(0).getTimeMs());
+        assertEquals(40, stats.getRunCount());
+        assertEquals(1000, stats.getBestTimeMs());
+        assertEquals(2950.0, stats.getMeanTimeMs(), 1e-9);
+    }
+
+    @Test
+    public void insert_queuedInsertsShareOnePrune() {
+        ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        repository = new HighScoreRepository(dao, dao::runInTransaction, queue::add, Runnable::run);
+
+        for (int i = 0; i < 30; i++) {
+            repository.insert(score((i % 2 == 0) ? "level1" : "level2", 1000 + i));
+        }
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+
+        assertEquals(1, dao.transactions);
+        assertEquals(2, dao.prunedLevels.size());
+        assertEquals(30, dao.rows.size());
+    }
+
+    @Test
+    public void loadLevelStats_countsPrunedRuns() {
+        for (int i = 0; i < 25; i++) {
+            repository.insert(score("level1", 2000));
+        }
+        repository.insert(score("level2", 500));
+
+        ArrayList<LevelStats> result = new ArrayList<>();
+        repository.loadLevelStats(result::addAll);
+
+        assertEquals(2, result.size());
+        assertEquals(25, result.get(0).getRunCount());
+        assertEquals(2000.0, result.get(0).getMeanTimeMs(), 1e-9);
+        assertEquals(1, result.get(1).getRunCount());
+    }
+
+    private static HighScore score(String level, long timeMs) {
+        HighScore score = new HighScore();
+        score.setLevelName(level);
+        score.setTimeMs(timeMs);
+        return score;
+    }
+
+    /**
+     * In-memory stand-in for the Room DAO
+     */
+    static class FakeHighScoreDao implements HighScoreDao {
+        final ArrayList<HighScore> rows = new ArrayList<>();
+        final HashMap<String, long[]> pruned = new HashMap<>(); // Level name to {run count, time sum}
+        final HashSet<String> prunedLevels = new HashSet<>();
+        int queries;
+        int transactions;
+        private int nextUid = 1;
+
+        void runInTransaction(Runnable body) {
+            transactions++;
+            body.run();
+        }
+
+        @Override
+        public List<HighScore> getAll() {
+            return new ArrayList<>(rows);
+        }
+
+        @Override
+        public List<HighScore> getTopScoresFromLevelSorted(String levelName) {
+            queries++;
+            ArrayList<HighScore> result = new ArrayList<>();
+            for (HighScore row : rows) {
+                if (row.getLevelName().equals(levelName)) {
+                    result.add(row);
+                }
+            }
+            result.sort((a, b) -> Long.compare(a.getTimeMs(), b.getTimeMs()));
+            return result.subList(0, Math.min(HighScoreRepository.TOP_COUNT, result.size()));
+        }
+
+        @Override
+        public void insertAll(HighScore... highScores) {
+            for (HighScore score : highScores) {
+                score.setUid(nextUid++);
+                rows.add(score);
+            }
+        }
+
+        @Override
+        public void delete(HighScore highScores) {
+            rows.remove(highScores);
+        }
+
+        @Override
+        public void deleteAll() {
+            rows.clear();
+        }
+
+        @Override
+        public void ensurePrunedRuns(PrunedRuns prunedRuns) {
+            pruned.putIfAbsent(prunedRuns.getLevelName(), new long[] {prunedRuns.getRunCount(), prunedRuns.getTimeSum()});
+        }
+
+        @Override
+        public void addPrunedRuns(String levelName, int keepBest, int keepRecent) {
+            long[] totals = pruned.get(levelName);
+            for (HighScore row : prunable(levelName, keepBest, keepRecent)) {
+                totals[0]++;
+                totals[1] += row.getTimeMs();
+            }
+        }
+
+        @Override
+        public int pruneLevel(String levelName, int keepBest, int keepRecent) {
+            prunedLevels.add(levelName);
+            List<HighScore> prunable = prunable(levelName, keepBest, keepRecent);
+            rows.removeAll(prunable);
+            return prunable.size();
+        }
+
+        @Override
+        public List<LevelStats> getLevelStats() {
+            HashMap<String, LevelStats> byLevel = new HashMap<>();
+            HashMap<String, Long> sums = new HashMap<>();
+            for (HighScore row : rows) {
+                LevelStats stats = byLevel.get(row.getLevelName());
+                if (stats == null) {
+                    long[] totals = pruned.getOrDefault(row.getLevelName(), new long[2]);
+                    stats = new LevelStats();
+                    stats.setLevelName(row.getLevelName());
+                    stats.setBestTimeMs(Long.MAX_VALUE);
+                    stats.setRunCount(totals[0]);
+                    sums.put(row.getLevelName(), totals[1]);
+                    byLevel.put(row.getLevelName(), stats);
+                }
+                stats.setBestTimeMs(Math.min(stats.getBestTimeMs(), row.getTimeMs()));
+                stats.setRunCount(stats.getRunCount() + 1);
+                sums.put(row.getLevelName(), sums.get(row.getLevelName()) + row.getTimeMs());
+            }
+
+            ArrayList<LevelStats> result = new ArrayList<>(byLevel.values());
+            result.sort((a, b) -> a.getLevelName().compareTo(b.getLevelName()));
+            for (LevelStats stats : result) {
+                stats.setMeanTimeMs((double)sums.get(stats.getLevelName()) / stats.getRunCount());
+            }
+            return result;
+        }
+
+        /**
+         * Rows of a level outside both the fastest and the newest, like HighScoreDao.PRUNABLE
+         */
+        private List<HighScore> prunable(String levelName, int keepBest, int keepRecent) {
+            ArrayList<HighScore> level = new ArrayList<>();
+            for (HighScore row : rows) {
+                if (row.getLevelName().equals(levelName)) {
+                    level.add(row);
+                }
+            }
+
+            HashSet<HighScore> kept = new HashSet<>();
+            level.sort((a, b) -> Long.compare(a.getTimeMs(), b.getTimeMs()));
+            kept.addAll(level.subList(0, Math.min(keepBest, level.size())));
+            level.sort((a, b) -> Integer.compare(b.getUid(), a.getUid()));
+            kept.addAll(level.subList(0, Math.min(keepRecent, level.size())));
+
+            level.removeAll(kept);
+            return level;
+        }
+    }
+}
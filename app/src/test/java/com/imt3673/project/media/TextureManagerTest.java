@@ -0,0 +1,27 @@
+package com.imt3673.project.media;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests how far textures are downsampled.
+ */
+public class TextureManagerTest {
+
+    @Test
+    public void getSampleSize_keepsTextureAtLeastAsBigAsDrawn() {
+        assertEquals(1, TextureManager.getSampleSize(128, 108)); //10 pixel high level on a 1080p screen
+        assertEquals(1, TextureManager.getSampleSize(128, 65));
+        assertEquals(2, TextureManager.getSampleSize(128, 64));
+        assertEquals(2, TextureManager.getSampleSize(128, 45)); //16 pixel high level on a 720p screen
+        assertEquals(4, TextureManager.getSampleSize(128, 32));
+        assertEquals(8, TextureManager.getSampleSize(128, 10));
+    }
+
+    @Test
+    public void getSampleSize_neverUpsamples() {
+        assertEquals(1, TextureManager.getSampleSize(47, 200));
+        assertEquals(1, TextureManager.getSampleSize(128, 0));
+    }
+}
@@ -0,0 +1,196 @@
+package com.imt3673.project.services;
+
+import com.imt3673.project.database.PendingSubmission;
+import com.imt3673.project.database.PendingSubmissionDao;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the leaderboard submission queue against an in-memory DAO and leaderboard, with the worker running tasks directly.
+ */
+public class LeaderboardQueueTest {
+    private FakePendingSubmissionDao dao;
+    private FakeLeaderboard leaderboard;
+    private LeaderboardQueue queue;
+
+    @Before
+    public void setUp() {
+        dao = new FakePendingSubmissionDao();
+        leaderboard = new FakeLeaderboard();
+        queue = new LeaderboardQueue(dao, leaderboard, Runnable::run);
+    }
+
+    @Test
+    public void record_offlineKeepsBestTimePerLevel() {
+        queue.record("level1", 5000);
+        queue.record("level1", 4000);
+        queue.record("level1", 6000);
+        queue.record("level2", 9000);
+
+        assertEquals(2, dao.rows.size());
+        assertEquals(4000, dao.rows.get("level1").longValue());
+        assertTrue(leaderboard.submitted.isEmpty());
+    }
+
+    @Test
+    public void signIn_flushesQueuedTimes() {
+        queue.record("level1", 5000);
+        queue.record("level2", 7000);
+
+        leaderboard.signIn();
+
+        assertEquals(2, leaderboard.submitted.size());
+        assertTrue(leaderboard.submitted.contains("level1=5000"));
+        assertTrue(dao.rows.isEmpty());
+    }
+
+    @Test
+    public void record_signedInSubmitsRightAway() {
+        leaderboard.signedIn = true;
+
+        queue.record("level1", 3000);
+
+        assertEquals(1, leaderboard.submitted.size());
+        assertTrue(dao.rows.isEmpty());
+    }
+
+    @Test
+    public void failedSubmission_isRetriedOnNextFlush() {
+        leaderboard.signedIn = true;
+        leaderboard.failing = true;
+
+        queue.record("level1", 3000);
+        assertEquals(1, dao.rows.size());
+
+        leaderboard.failing = false;
+        queue.flush();
+
+        assertEquals(1, leaderboard.submitted.size());
+        assertTrue(dao.rows.isEmpty());
+    }
+
+    @Test
+    public void uploadTurnedOff_keepsQueuedTimes() {
+        queue.record("level1", 5000);
+        leaderboard.uploadEnabled = false;
+
+        leaderboard.signIn();
+
+        assertTrue(leaderboard.submitted.isEmpty());
+        assertEquals(1, dao.rows.size());
+
+        leaderboard.uploadEnabled = true;
+        queue.flush();
+
+        assertEquals(1, leaderboard.submitted.size());
+    }
+
+    @Test
+    public void batchFlush_reportsOnce() {
+        queue.record("level1", 5000);
+        queue.record("level2", 7000);
+        queue.record("level3", 9000);
+
+        leaderboard.signIn();
+
+        assertEquals(3, leaderboard.submitted.size());
+        assertEquals(1, leaderboard.reports.size());
+        assertEquals(3, leaderboard.reports.get(0).intValue());
+    }
+
+    /**
+     * In-memory stand-in for Google Play Games
+     */
+    static class FakeLeaderboard implements LeaderboardClient {
+        final ArrayList<String> submitted = new ArrayList<>();
+        final ArrayList<Integer> reports = new ArrayList<>();
+        boolean signedIn;
+        boolean failing;
+        boolean uploadEnabled = true;
+        private Runnable onSignedIn;
+
+        void signIn() {
+            signedIn = true;
+            onSignedIn.run();
+        }
+
+        @Override
+        public boolean canSubmit() {
+            return signedIn;
+        }
+
+        @Override
+        public boolean isScoreUploadEnabled() {
+            return uploadEnabled;
+        }
+
+        @Override
+        public boolean submitScore(String levelName, long timeMs) {
+            if (failing) {
+                return false;
+            }
+            submitted.add(levelName + "=" + timeMs);
+            return true;
+        }
+
+        @Override
+        public void onScoresSubmitted(int count) {
+            reports.add(count);
+        }
+
+        @Override
+        public void setOnSignedInListener(Runnable listener) {
+            onSignedIn = listener;
+        }
+    }
+
+    /**
+     * In-memory stand-in for the Room DAO
+     */
+    static class FakePendingSubmissionDao implements PendingSubmissionDao {
+        final LinkedHashMap<String, Long> rows = new LinkedHashMap<>();
+
+        @Override
+        public List<PendingSubmission> getAll() {
+            ArrayList<PendingSubmission> result = new ArrayList<>();
+            for (String levelName : rows.keySet()) {
+                result.add(get(levelName));
+            }
+            return result;
+        }
+
+        @Override
+        public PendingSubmission get(String levelName) {
+            Long timeMs = rows.get(levelName);
+            if (timeMs == null) {
+                return null;
+            }
+            PendingSubmission submission = new PendingSubmission();
+            submission.setLevelName(levelName);
+            submission.setTimeMs(timeMs);
+            return submission;
+        }
+
+        @Override
+        public void put(PendingSubmission submission) {
+            rows.put(submission.getLevelName(), submission.getTimeMs());
+        }
+
+        @Override
+        public int deleteSubmitted(String levelName, long timeMs) {
+            Long queued = rows.get(levelName);
+            if ((queued == null) || (queued != timeMs)) {
+                return 0;
+            }
+            rows.remove(levelName);
+            return 1;
+        }
+    }
+}
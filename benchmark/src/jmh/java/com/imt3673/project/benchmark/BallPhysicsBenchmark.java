@@ -0,0 +1,87 @@
+package com.imt3673.project.benchmark;
+
+import com.imt3673.project.Objects.Ball;
+import com.imt3673.project.Objects.BallCollision;
+import com.imt3673.project.Objects.Level;
+import com.imt3673.project.Objects.LevelBuilder;
+import com.imt3673.project.Objects.LevelData;
+import com.imt3673.project.Objects.PixelSource;
+import com.imt3673.project.utils.Vector2;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Ball.physicsUpdate over the full collision grid of a built level, tilting back and forth
+ * so the ball keeps hitting walls, breaking crates and falling into holes.
+ * The level is rebuilt every iteration, since broken crates leave the grid.
+ * With distanceField the ball skips the wall tests where a baked distance field shows no wall is in reach.
+ * The contact solver does one narrow phase pass per sub-step instead of one per axis,
+ * the collisionTests and steps counters show how many tests a step takes.
+ */
+@State(Scope.Thread)
+public class BallPhysicsBenchmark {
+    private static final int   PHONE_HEIGHT = 1080;
+    private static final float STEP         = 1 / 60f;
+
+    @Param({"200", "2000"})
+    public int levelWidth;
+
+    @Param({"false", "true"})
+    public boolean distanceField;
+
+    @Param({"" + Ball.SOLVER_AXES, "" + Ball.SOLVER_CONTACTS})
+    public int solver;
+
+    private final float[] accel = new float[3];
+    private Level level;
+    private Ball  ball;
+    private int   step;
+
+    /**
+     * Narrow phase tests done, reported by JMH next to the time
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long collisionTests;
+        public long steps;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void reset() {
+            this.collisionTests = 0;
+            this.steps          = 0;
+        }
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void setUp() {
+        PixelSource source = SyntheticLevels.corridor(this.levelWidth, 20, 7);
+        LevelData   data   = LevelBuilder.build(source, LevelBuilder.getDecomposition(LevelBuilder.DECOMPOSITION_GREEDY));
+
+        this.level = new Level();
+        this.level.buildFromData(data, PHONE_HEIGHT, this.distanceField);
+
+        this.ball = new Ball(new Vector2(this.level.getSpawnPoint()), PHONE_HEIGHT);
+        this.ball.setSolver(this.solver);
+        this.step = 0;
+    }
+
+    @Benchmark
+    public BallCollision physicsUpdate(Counters counters) {
+        int i = this.step++;
+        this.accel[0] = ((i / 500) % 2 == 0) ? 3 : -3;
+        this.accel[1] = ((i / 700) % 2 == 0) ? 2 : -2;
+        this.accel[2] = 9;
+
+        long tests = this.ball.getCollisionTests();
+        BallCollision hit = this.ball.physicsUpdate(this.accel, STEP, this.level.getBlockStore());
+        counters.collisionTests += this.ball.getCollisionTests() - tests;
+        counters.steps++;
+        return hit;
+    }
+}
@@ -0,0 +1,77 @@
+package com.imt3673.project.benchmark;
+
+import com.imt3673.project.Objects.BallCollision;
+import com.imt3673.project.Objects.BallSwarm;
+import com.imt3673.project.Objects.Level;
+import com.imt3673.project.Objects.LevelBuilder;
+import com.imt3673.project.Objects.LevelData;
+import com.imt3673.project.Objects.PixelSource;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * BallSwarm.physicsUpdate with a growing number of balls in the long corridor, tilting back and forth
+ * so the balls pile up against the walls and each other.
+ * The time per tick should grow about linearly with the balls, the pairTests counter shows how many
+ * ball pairs the sweep and prune broad phase lets through to the narrow phase.
+ */
+@State(Scope.Thread)
+public class BallSwarmBenchmark {
+    private static final int   PHONE_HEIGHT = 1080;
+    private static final float STEP         = 1 / 60f;
+
+    @Param({"1", "10", "100", "300"})
+    public int balls;
+
+    private final float[] accel = new float[3];
+    private Level     level;
+    private BallSwarm swarm;
+    private int       step;
+
+    /**
+     * Ball pairs tested, reported by JMH next to the time
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long pairTests;
+        public long steps;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void reset() {
+            this.pairTests = 0;
+            this.steps     = 0;
+        }
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void setUp() {
+        PixelSource source = SyntheticLevels.corridor(2000, 20, 7);
+        LevelData   data   = LevelBuilder.build(source, LevelBuilder.getDecomposition(LevelBuilder.DECOMPOSITION_GREEDY));
+
+        this.level = new Level();
+        this.level.buildFromData(data, PHONE_HEIGHT);
+
+        this.swarm = BallSwarm.spawn(this.level, this.balls, PHONE_HEIGHT);
+        this.step  = 0;
+    }
+
+    @Benchmark
+    public BallCollision physicsUpdate(Counters counters) {
+        int i = this.step++;
+        this.accel[0] = ((i / 500) % 2 == 0) ? 3 : -3;
+        this.accel[1] = ((i / 700) % 2 == 0) ? 2 : -2;
+        this.accel[2] = 9;
+
+        long tests = this.swarm.getPairTests();
+        BallCollision hit = this.swarm.physicsUpdate(this.accel, STEP, this.level.getBlockStore());
+        counters.pairTests += this.swarm.getPairTests() - tests;
+        counters.steps++;
+        return hit;
+    }
+}
@@ -0,0 +1,109 @@
+package com.imt3673.project.benchmark;
+
+import com.imt3673.project.Objects.Ball;
+import com.imt3673.project.Objects.Block;
+import com.imt3673.project.Objects.BlockStore;
+import com.imt3673.project.Objects.Level;
+import com.imt3673.project.Objects.LevelBuilder;
+import com.imt3673.project.Objects.LevelData;
+import com.imt3673.project.Objects.Physics;
+import com.imt3673.project.Objects.Rect;
+import com.imt3673.project.utils.Vector2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Ball sized collision queries, the packed BlockStore against the object graph it replaced
+ * (SpatialHash of Block objects, each test reading Block -> Rect -> floats).
+ * A level 25000 pixels wide has about 10k blocks.
+ */
+@State(Scope.Thread)
+public class BlockStoreBenchmark {
+    private static final int PHONE_HEIGHT = 1080;
+    private static final int POSITIONS    = 1024;
+
+    @Param({"2500", "25000"})
+    public int levelWidth;
+
+    private final float[]          positions  = new float[POSITIONS * 2];
+    private final ArrayList<Block> candidates = new ArrayList<>();
+    private SpatialHash<Block> grid;
+    private BlockStore         store;
+    private Ball               ball;
+
+    @Setup
+    public void setUp() {
+        LevelData data  = LevelBuilder.build(SyntheticLevels.corridor(this.levelWidth, 20, 11),
+                LevelBuilder.getDecomposition(LevelBuilder.DECOMPOSITION_GREEDY));
+        Level     level = new Level();
+        level.buildFromData(data, PHONE_HEIGHT);
+
+        this.ball  = new Ball(new Vector2(level.getSpawnPoint()), PHONE_HEIGHT);
+        this.store = level.getBlockStore();
+
+        // Same cells as the level uses for its store
+        Rect  bounds   = level.getBackground().getRectangle();
+        float cellSize = Math.max(Level.getPixelSize(), this.ball.getRadius() * 2);
+        this.grid = new SpatialHash<>(bounds.width(), bounds.height(), cellSize);
+        for (Block block : level.getBlocks()) {
+            Rect rect = block.getRectangle();
+            this.grid.insert(block, rect.left, rect.top, rect.right, rect.bottom);
+        }
+
+        Random random = new Random(2);
+        for (int i = 0; i < POSITIONS; i++) {
+            this.positions[i * 2]     = random.nextFloat() * bounds.width();
+            this.positions[i * 2 + 1] = random.nextFloat() * bounds.height();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int objectGraph() {
+        float radius = this.ball.getRadius();
+        int   hits   = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            float x = this.positions[i * 2];
+            float y = this.positions[i * 2 + 1];
+            this.ball.getPosition().set(x, y);
+
+            this.grid.query(x - radius, y - radius, x + radius, y + radius, this.candidates);
+            for (int c = 0; c < this.candidates.size(); c++) {
+                if (Physics.BallBlockCollision(this.ball, this.candidates.get(c).getRectangle()))
+                    hits++;
+            }
+        }
+
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int packed() {
+        float radius = this.ball.getRadius();
+        int   hits   = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            float x = this.positions[i * 2];
+            float y = this.positions[i * 2 + 1];
+
+            int count = this.store.query(x - radius, y - radius, x + radius, y + radius);
+            for (int c = 0; c < count; c++) {
+                int   block      = this.store.getResult(c);
+                float halfWidth  = this.store.getHalfWidth(block);
+                float halfHeight = this.store.getHalfHeight(block);
+                if (Physics.BallBlockCollision(x, y, radius, this.store.getMinX(block) + halfWidth, this.store.getMinY(block) + halfHeight, halfWidth, halfHeight))
+                    hits++;
+            }
+        }
+
+        return hits;
+    }
+}
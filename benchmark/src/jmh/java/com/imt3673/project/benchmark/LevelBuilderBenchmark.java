@@ -0,0 +1,49 @@
+package com.imt3673.project.benchmark;
+
+import com.imt3673.project.Objects.LevelBuilder;
+import com.imt3673.project.Objects.LevelData;
+import com.imt3673.project.Objects.PixelSource;
+import com.imt3673.project.Objects.RectDecomposition;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level rectangle decomposition on synthetic pixel grids, read through a PixelSource like the app reads level PNGs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelBuilderBenchmark {
+
+    @Param({"200", "2000"})
+    public int levelWidth;
+
+    @Param({"20", "60"})
+    public int levelHeight;
+
+    @Param({"" + LevelBuilder.DECOMPOSITION_GREEDY, "" + LevelBuilder.DECOMPOSITION_OPTIMAL})
+    public int decomposition;
+
+    private PixelSource       source;
+    private RectDecomposition strategy;
+
+    @Setup
+    public void setUp() {
+        this.source   = SyntheticLevels.corridor(this.levelWidth, this.levelHeight, 3);
+        this.strategy = LevelBuilder.getDecomposition(this.decomposition);
+    }
+
+    @Benchmark
+    public LevelData build() {
+        return LevelBuilder.build(this.source, this.strategy);
+    }
+}
@@ -0,0 +1,65 @@
+package com.imt3673.project.benchmark;
+
+import com.imt3673.project.Objects.Ball;
+import com.imt3673.project.Objects.Physics;
+import com.imt3673.project.Objects.Rect;
+import com.imt3673.project.utils.Vector2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Physics.BallBlockCollision and Physics.BallBlockSweep against a mix of rectangles that miss, overlap an edge and only touch at a corner.
+ */
+@State(Scope.Thread)
+public class PhysicsBenchmark {
+    private static final int PHONE_HEIGHT = 1080;
+    private static final int RECTS        = 1024;
+
+    private final Rect[] rects = new Rect[RECTS];
+    private Ball ball;
+
+    @Setup
+    public void setUp() {
+        this.ball = new Ball(new Vector2(500, 500), PHONE_HEIGHT);
+
+        Random random = new Random(1);
+        float  reach  = this.ball.getRadius() * 6; // About a quarter of the rects hit
+        for (int i = 0; i < RECTS; i++) {
+            float left = 500 - reach + random.nextFloat() * reach * 2 - 54;
+            float top  = 500 - reach + random.nextFloat() * reach * 2 - 54;
+            this.rects[i] = new Rect(left, top, left + 108, top + 108);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECTS)
+    public int ballBlockCollision() {
+        int hits = 0;
+        for (Rect rect : this.rects) {
+            if (Physics.BallBlockCollision(this.ball, rect))
+                hits++;
+        }
+
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECTS)
+    public int ballBlockSweep() {
+        int   hits = 0;
+        float from = 500 - this.ball.getRadius() * 4;
+        float to   = 500 + this.ball.getRadius() * 4;
+        for (Rect rect : this.rects) {
+            if (Physics.BallBlockSweep(this.ball, 0, from, to, rect) != Physics.NO_HIT)
+                hits++;
+        }
+
+        return hits;
+    }
+}
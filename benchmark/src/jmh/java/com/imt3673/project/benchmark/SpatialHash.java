@@ -0,0 +1,106 @@
+package com.imt3673.project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid of objects, the collision grid the game used before BlockStore.
+ * Every cell is a list of entries pointing at the objects, kept here as the baseline BlockStoreBenchmark compares against.
+ * @param <T> Type of item stored in the grid
+ */
+final class SpatialHash<T> {
+    private final float                          cellSize;
+    private final int                            columns;
+    private final int                            rows;
+    private final ArrayList<ArrayList<Entry<T>>> cells;
+
+    /**
+     * Creates a grid covering the area (0, 0) to (width, height)
+     * @param width Width of the area
+     * @param height Height of the area
+     * @param cellSize Width and height of one cell
+     */
+    SpatialHash(final float width, final float height, final float cellSize) {
+        this.cellSize = cellSize;
+        this.columns  = Math.max(1, (int)Math.ceil(width / cellSize));
+        this.rows     = Math.max(1, (int)Math.ceil(height / cellSize));
+        this.cells    = new ArrayList<>(this.columns * this.rows);
+
+        for (int i = 0; i < this.columns * this.rows; i++)
+            this.cells.add(new ArrayList<>());
+    }
+
+    /**
+     * Adds an item to every cell its bounding box overlaps
+     * @param item Item to add
+     * @param left Left edge of bounding box
+     * @param top Top edge of bounding box
+     * @param right Right edge of bounding box
+     * @param bottom Bottom edge of bounding box
+     */
+    void insert(final T item, final float left, final float top, final float right, final float bottom) {
+        Entry<T> entry = new Entry<>(item, this.column(left), this.row(top), this.column(right), this.row(bottom));
+
+        for (int y = entry.minRow; y <= entry.maxRow; y++) {
+            for (int x = entry.minColumn; x <= entry.maxColumn; x++)
+                this.cells.get(y * this.columns + x).add(entry);
+        }
+    }
+
+    /**
+     * Finds all items whose cells overlap the query box, every item once
+     * @param left Left edge of query box
+     * @param top Top edge of query box
+     * @param right Right edge of query box
+     * @param bottom Bottom edge of query box
+     * @param result List to fill, it is cleared first
+     */
+    void query(final float left, final float top, final float right, final float bottom, final List<T> result) {
+        result.clear();
+
+        int minColumn = this.column(left);
+        int minRow    = this.row(top);
+        int maxColumn = this.column(right);
+        int maxRow    = this.row(bottom);
+
+        for (int y = minRow; y <= maxRow; y++) {
+            for (int x = minColumn; x <= maxColumn; x++) {
+                ArrayList<Entry<T>> cell = this.cells.get(y * this.columns + x);
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry<T> entry = cell.get(i);
+
+                    // Only report the item from the first queried cell it is in, to avoid duplicates
+                    if ((Math.max(entry.minColumn, minColumn) == x) && (Math.max(entry.minRow, minRow) == y))
+                        result.add(entry.item);
+                }
+            }
+        }
+    }
+
+    private int column(final float x) {
+        return Math.max(0, Math.min(this.columns - 1, (int)Math.floor(x / this.cellSize)));
+    }
+
+    private int row(final float y) {
+        return Math.max(0, Math.min(this.rows - 1, (int)Math.floor(y / this.cellSize)));
+    }
+
+    /**
+     * An item and the range of cells it is stored in
+     */
+    private static final class Entry<T> {
+        final T   item;
+        final int minColumn;
+        final int minRow;
+        final int maxColumn;
+        final int maxRow;
+
+        Entry(final T item, final int minColumn, final int minRow, final int maxColumn, final int maxRow) {
+            this.item      = item;
+            this.minColumn = minColumn;
+            this.minRow    = minRow;
+            this.maxColumn = maxColumn;
+            this.maxRow    = maxRow;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.imt3673.project.benchmark;
+
+import com.imt3673.project.Objects.ArrayPixelSource;
+import com.imt3673.project.Objects.Block;
+import com.imt3673.project.Objects.PixelSource;
+
+import java.util.Random;
+
+/**
+ * Generates level images shaped like the shipped levels: a walled corridor with wall chunks,
+ * crates and holes, seeded so every run benchmarks the same level.
+ */
+final class SyntheticLevels {
+
+    private SyntheticLevels() {
+    }
+
+    /**
+     * @param width Width in level pixels
+     * @param height Height in level pixels
+     * @param seed Random seed
+     * @return Level pixels, one pixel per block type
+     */
+    static PixelSource corridor(final int width, final int height, final long seed) {
+        Random random = new Random(seed);
+        int[]  pixels = new int[width * height];
+
+        for (int i = 0; i < pixels.length; i++)
+            pixels[i] = Block.TYPE_CLEAR;
+
+        fill(pixels, width, 0, 0, width, 1, Block.TYPE_OBSTACLE);
+        fill(pixels, width, 0, height - 1, width, 1, Block.TYPE_OBSTACLE);
+        fill(pixels, width, 0, 0, 1, height, Block.TYPE_OBSTACLE);
+        fill(pixels, width, width - 1, 0, 1, height, Block.TYPE_OBSTACLE);
+
+        for (int x = 4; x < width - 4; x += 3 + random.nextInt(4)) {
+            int w = 1 + random.nextInt(3);
+            int h = 1 + random.nextInt(height / 2);
+            int y = random.nextBoolean() ? 1 : height - 1 - h;
+            fill(pixels, width, x, y, Math.min(w, width - 1 - x), h, Block.TYPE_OBSTACLE);
+
+            int roll = random.nextInt(10);
+            if (roll < 3)
+                fill(pixels, width, x, height / 2, 1, 2, Block.TYPE_BREAKABLE);
+            else if (roll < 4)
+                pixels[(height / 2) * width + x] = Block.TYPE_HOLE;
+        }
+
+        pixels[(height / 2) * width + 2]         = Block.TYPE_SPAWN;
+        pixels[(height / 2) * width + width - 3] = Block.TYPE_GOAL;
+
+        return new ArrayPixelSource(pixels, width, height);
+    }
+
+    /**
+     * Fills a rectangle of pixels with one type
+     */
+    private static void fill(final int[] pixels, final int width, final int x, final int y, final int w, final int h, final int type) {
+        for (int row = y; row < y + h; row++) {
+            for (int column = x; column < x + w; column++)
+                pixels[row * width + column] = type;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.imt3673.project.benchmark;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Vector2 arithmetic, the allocating static helpers next to the in-place methods the physics step uses.
+ */
+@State(Scope.Thread)
+public class Vector2Benchmark {
+    private Vector2 a;
+    private Vector2 b;
+    private Vector2 accumulator;
+
+    @Setup
+    public void setUp() {
+        this.a           = new Vector2(3.5f, -1.25f);
+        this.b           = new Vector2(0.75f, 2.5f);
+        this.accumulator = new Vector2();
+    }
+
+    @Benchmark
+    public Vector2 add() {
+        return Vector2.add(this.a, this.b);
+    }
+
+    @Benchmark
+    public Vector2 addInPlace() {
+        return this.accumulator.set(this.a).addInPlace(this.b);
+    }
+
+    @Benchmark
+    public Vector2 scaleInPlace() {
+        return this.accumulator.set(this.a).scaleInPlace(0.75f);
+    }
+
+    @Benchmark
+    public Vector2 normalized() {
+        return this.a.normalized();
+    }
+
+    @Benchmark
+    public float distance() {
+        return Vector2.distance(this.a, this.b);
+    }
+
+    @Benchmark
+    public float magnitude() {
+        return this.a.magnitude();
+    }
+}
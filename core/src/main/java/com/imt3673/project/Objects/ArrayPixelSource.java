@@ -0,0 +1,40 @@
+package com.imt3673.project.Objects;
+
+/**
+ * A pixel source backed by an int array, for levels built off-device.
+ */
+public class ArrayPixelSource implements PixelSource {
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    /**
+     * @param pixels ARGB pixels, row by row, not copied
+     * @param width width in pixels
+     * @param height height in pixels
+     */
+    public ArrayPixelSource(int[] pixels, int width, int height){
+        if (pixels.length < width * height){
+            throw new IllegalArgumentException("Expected " + width * height + " pixels, got " + pixels.length);
+        }
+
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth(){
+        return width;
+    }
+
+    @Override
+    public int getHeight(){
+        return height;
+    }
+
+    @Override
+    public void getPixels(int[] pixels){
+        System.arraycopy(this.pixels, 0, pixels, 0, width * height);
+    }
+}
@@ -0,0 +1,488 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+/**
+ * The ball that the player controls
+ */
+public class Ball extends GameObject {
+    public static final int SOLVER_AXES = 0; //Sweeps x, then y
+    public static final int SOLVER_CONTACTS = 1; //Moves once, then resolves all contacts together
+
+    private Vector2 velocity;
+    private float radius;
+    private final BallCollision[] axisHits = {new BallCollision(), new BallCollision()}; //Reused every step, one per axis
+    private final BallCollision stepHit = new BallCollision(); //Strongest hit of the sub-steps, returned by physicsUpdate
+    private final BallCollision[] contactHits = {new BallCollision(), new BallCollision()}; //Strongest contact, and the one compared to it
+    private final ContactManifold contacts = new ContactManifold();
+    private final float[] contactNormal = new float[2];
+    private int solver = SOLVER_AXES;
+
+    private Vector2 spawnPoint;
+    private long collisionTests; //Ball-block tests done so far, for diagnostics
+    private long substeps; //Sub-steps done so far, for diagnostics
+    private long cappedSteps; //Steps that needed more than MAX_SUBSTEPS sub-steps, for diagnostics
+
+    //Neighbour list: the blocks around the ball, reused while the ball stays inside the area it covers
+    private BlockStore neighbourStore; //Store the list was built from
+    private int neighbourVersion; //Version of the store when the list was built
+    private int[] neighbours = new int[32];
+    private int neighbourCount;
+    private float neighbourLeft;
+    private float neighbourTop;
+    private float neighbourRight;
+    private float neighbourBottom;
+    private long neighbourHits; //Queries answered by the list, for diagnostics
+    private long neighbourRebuilds; //Times the list was rebuilt, for diagnostics
+    private long fieldLookups; //Distance field lookups done so far, for diagnostics
+    private long fieldSkips; //Axis moves the distance field showed to be clear of walls, for diagnostics
+
+    //Ball physics variables
+    private float accelDelta; //Used for acceleration calculations
+    private float stepScale = 1; //Length of the current sub-step relative to REFERENCE_STEP
+    private final float drag = 0.75f; //Used for slowing down ball when hitting wall
+    private static final float REFERENCE_STEP = 1 / 60f; //Step length the acceleration values were tuned for
+    private static final float CONTACT_SKIN = 0.01f; //Gap left between the ball and a block it stopped at
+    private static final int MAX_SUBSTEPS = 8; //Caps the cost of a step after a long stall
+    private static final float NEIGHBOUR_MARGIN = 2; //How far, in radii, the neighbour list reaches past the ball
+    private static final int CONTACT_ITERATIONS = 4; //Passes over the contacts when pushing the ball out of them
+    private static final float FIELD_MARGIN = 1.5f; //Error allowed for the distance field, in sample spacings, more than its worst case
+
+    /**
+     * Constructs the ball
+     * @param position position of ball
+     * @param phoneHeight height of phone
+     */
+    public Ball(Vector2 position, int phoneHeight){
+        this.position = position;
+        this.spawnPoint = new Vector2(position);
+        this.radius = radiusFor(phoneHeight);
+
+        accelDelta = phoneHeight * 0.005f; //Make acceleration scale with phone size too
+        velocity = new Vector2(); //Defaults to zero
+    }
+
+    /**
+     * Gets the radius
+     * @return float radius
+     */
+    public float getRadius(){
+        return radius;
+    }
+
+    /**
+     * Gets the velocity
+     * @return Vector2 velocity
+     */
+    public Vector2 getVelocity(){
+        return velocity;
+    }
+
+    /**
+     * Sets how collisions are solved
+     * @param solver one of the SOLVER_ constants
+     */
+    public void setSolver(int solver){
+        this.solver = solver;
+    }
+
+    /**
+     * Gets how collisions are solved
+     * @return int one of the SOLVER_ constants
+     */
+    public int getSolver(){
+        return solver;
+    }
+
+    /**
+     * Gets how many ball-block collision tests have been done, for diagnostics
+     * @return long collision tests
+     */
+    public long getCollisionTests(){
+        return collisionTests;
+    }
+
+    /**
+     * Gets how many sub-steps have been done, for diagnostics
+     * @return long sub-steps
+     */
+    public long getSubsteps(){
+        return substeps;
+    }
+
+    /**
+     * Gets how many steps would have needed more than MAX_SUBSTEPS sub-steps, for diagnostics
+     * @return long capped steps
+     */
+    public long getCappedSteps(){
+        return cappedSteps;
+    }
+
+    /**
+     * Gets how many collision queries were answered by the neighbour list, for diagnostics
+     * @return long neighbour hits
+     */
+    public long getNeighbourHits(){
+        return neighbourHits;
+    }
+
+    /**
+     * Gets how many times the neighbour list was rebuilt, for diagnostics
+     * @return long neighbour rebuilds
+     */
+    public long getNeighbourRebuilds(){
+        return neighbourRebuilds;
+    }
+
+    /**
+     * Gets how many distance field lookups have been done, for diagnostics
+     * @return long field lookups
+     */
+    public long getFieldLookups(){
+        return fieldLookups;
+    }
+
+    /**
+     * Gets how many axis moves the distance field showed to be clear of walls, for diagnostics
+     * @return long field skips
+     */
+    public long getFieldSkips(){
+        return fieldSkips;
+    }
+
+    /**
+     * Gets the radius a ball will have on a phone of the given height
+     * @param phoneHeight height of phone
+     * @return float radius
+     */
+    public static float radiusFor(int phoneHeight){
+        return phoneHeight * 0.025f; //Make radius 2.5% of phone height
+    }
+
+    /**
+     * Does the physics update for ball.
+     * A step is split into sub-steps so the ball moves at most about one radius per sub-step,
+     * a slow ball takes one sub-step and a fast ball, or a long step, takes up to MAX_SUBSTEPS.
+     * The step does not allocate, the returned collision is reused by the next call.
+     * @param accelData xyz acceleration data
+     * @param blocks packed blocks of the level
+     * @return the strongest collision of the step
+     */
+    public BallCollision physicsUpdate(final float[] accelData, float deltaTime, BlockStore blocks){
+        //zFactor helps reduce acceleration when the phone is put flat on a table
+        float total = Math.abs(accelData[0]) + Math.abs(accelData[1]) + Math.abs(accelData[2]);
+        float zFactor = (total > 0) ? 1 - (Math.abs(accelData[2]) / total) : 0; //An all zero sample would give NaN
+        float accelX = accelData[1] * accelDelta * zFactor;
+        float accelY = accelData[0] * accelDelta * zFactor;
+
+        //Sub-step count from how far the ball would move this step
+        float stepFactor = deltaTime / REFERENCE_STEP; //Keeps acceleration the same whatever the tick rate is
+        float speedX = velocity.x + accelX * stepFactor;
+        float speedY = velocity.y + accelY * stepFactor;
+        float travel = (float)Math.sqrt(speedX * speedX + speedY * speedY) * deltaTime;
+        int count = Math.max(1, (int)Math.ceil(travel / radius));
+        if (count > MAX_SUBSTEPS){
+            count = MAX_SUBSTEPS;
+            cappedSteps++;
+        }
+        substeps += count;
+
+        float subTime = deltaTime / count;
+        stepScale = subTime / REFERENCE_STEP;
+        BallCollision hit = stepHit.reset();
+        for (int i = 0; i < count; i++){
+            velocity.addInPlace(accelX * stepScale, accelY * stepScale);
+            BallCollision subHit;
+            if (solver == SOLVER_CONTACTS){
+                subHit = physicsUpdateContacts(subTime, blocks);
+            } else {
+                BallCollision hit1 = physicsUpdateAxis(0, subTime, blocks);
+                BallCollision hit2 = physicsUpdateAxis(1, subTime, blocks);
+                subHit = (hit1.greater(hit2)) ? hit1 : hit2;
+            }
+
+            if (subHit.greater(hit)){
+                hit.set(subHit);
+            }
+            if (hit.blockType == Block.TYPE_GOAL){
+                break; //The game stops at the goal
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * Does velocity and position calculations for an axis.
+     * The movement is swept against the blocks, so the ball stops at the first block it reaches
+     * however far it moves in one step, instead of passing through thin blocks.
+     * If the blocks have a distance field of the walls, the walls are only tested when the field shows one is in reach.
+     * @param axis axis to update for
+     * @param deltaTime time passed since last update
+     * @param blocks packed blocks to test against
+     * @return what the ball collided with
+     */
+    private BallCollision physicsUpdateAxis(int axis, float deltaTime, BlockStore blocks){
+        float from = position.getAxis(axis);
+        float to = from + velocity.getAxis(axis) * deltaTime;
+        float other = position.getAxis(1 - axis);
+
+        //Only the blocks around the area the ball sweeps through can touch it
+        float min = Math.min(from, to) - radius;
+        float max = Math.max(from, to) + radius;
+        if (axis == 0) {
+            updateNeighbours(blocks, min, other - radius, max, other + radius);
+        } else {
+            updateNeighbours(blocks, other - radius, min, other + radius, max);
+        }
+
+        DistanceField field = blocks.getDistanceField();
+        boolean skipWalls = field != null && ((axis == 0)
+                ? wallsOutOfReach(field, from, other, Math.abs(to - from))
+                : wallsOutOfReach(field, other, from, Math.abs(to - from)));
+        int first = -1;
+        float firstTime = Physics.NO_HIT;
+        for (int i = 0; i < neighbourCount; i++) {
+            int block = neighbours[i];
+            byte code = blocks.getCode(block);
+            if (code == BlockStore.CODE_HOLE){
+                continue; //Holes act as triggers instead of colliders
+            }
+            if (code == BlockStore.CODE_OBSTACLE && skipWalls){
+                continue; //Open space, the sweep would miss
+            }
+
+            collisionTests++;
+            float time = (axis == 0)
+                    ? Physics.BallBlockSweep(radius, other, blocks.getMinY(block), blocks.getMaxY(block), blocks.getMinX(block), blocks.getMaxX(block), from, to)
+                    : Physics.BallBlockSweep(radius, other, blocks.getMinX(block), blocks.getMaxX(block), blocks.getMinY(block), blocks.getMaxY(block), from, to);
+            if (time < firstTime || (time == firstTime && block < first)) { //Ties go to the lowest index, whatever the list order
+                first = block;
+                firstTime = time;
+            }
+        }
+
+        BallCollision collision = axisHits[axis].reset();
+        if (first < 0) {
+            position.setAxis(axis, to);
+        } else {
+            Block block = blocks.getBlock(first);
+            collision.blockType = block.getType();
+            collision.magnitude = Math.abs(velocity.getAxis(axis));
+
+            if (block.getType() == Block.TYPE_BREAKABLE){
+                if (collision.isImpactful()) {
+                    float breakX = (axis == 0) ? velocity.x * 0.25f : 0;
+                    float breakY = (axis == 1) ? velocity.y * 0.25f : 0;
+                    breakBlock(breakX, breakY, ((BreakableBlock) block), blocks, first);
+                }
+            }
+
+            //Stop just short of the block, so the ball is not touching it on the next step
+            float contact = from + (to - from) * firstTime - Math.signum(to - from) * CONTACT_SKIN;
+            position.setAxis(axis, ((contact - from) * (to - from) > 0) ? contact : from);
+            velocity.setAxis(axis, -velocity.getAxis(axis) * drag);
+        }
+
+        pullIntoHoles(blocks);
+        return collision;
+    }
+
+    /**
+     * Does velocity and position calculations for both axes at once.
+     * The ball moves once, then every block it overlaps is gathered into a contact manifold in one pass,
+     * the ball is pushed out of all of them together and its velocity reflected off each one it moves into.
+     * A ball rolling along blocks that line up does not catch on their corners, as it can when x and y move separately.
+     * The move is limited to one radius, so the ball can not pass through a block between two sub-steps.
+     * @param deltaTime time passed since last update
+     * @param blocks packed blocks to test against
+     * @return the strongest contact
+     */
+    private BallCollision physicsUpdateContacts(float deltaTime, BlockStore blocks){
+        float moveX = velocity.x * deltaTime;
+        float moveY = velocity.y * deltaTime;
+        float move = (float)Math.sqrt(moveX * moveX + moveY * moveY);
+        if (move > radius){ //Only when the step needed more than MAX_SUBSTEPS sub-steps
+            moveX *= radius / move;
+            moveY *= radius / move;
+        }
+        position.addInPlace(moveX, moveY);
+
+        updateNeighbours(blocks, position.x - radius, position.y - radius, position.x + radius, position.y + radius);
+        DistanceField field = blocks.getDistanceField();
+        boolean skipWalls = field != null && wallsOutOfReach(field, position.x, position.y, 0);
+
+        contacts.reset();
+        for (int i = 0; i < neighbourCount; i++) {
+            int block = neighbours[i];
+            byte code = blocks.getCode(block);
+            if (code == BlockStore.CODE_HOLE){
+                continue; //Holes act as triggers instead of colliders
+            }
+            if (code == BlockStore.CODE_OBSTACLE && skipWalls){
+                continue; //Open space, no wall can overlap
+            }
+
+            collisionTests++;
+            float depth = Physics.BallBlockContact(position.x, position.y, radius,
+                    blocks.getMinX(block), blocks.getMinY(block), blocks.getMaxX(block), blocks.getMaxY(block), contactNormal);
+            if (depth > 0){
+                contacts.add(block, contactNormal[0], contactNormal[1], depth);
+            }
+        }
+
+        BallCollision collision = contactHits[0].reset();
+        if (contacts.getCount() > 0){
+            contacts.solve(CONTACT_ITERATIONS, CONTACT_SKIN);
+            position.addInPlace(contacts.getCorrectionX(), contacts.getCorrectionY());
+
+            for (int i = 0; i < contacts.getCount(); i++){
+                int index = contacts.getBlock(i);
+                float normalX = contacts.getNormalX(i);
+                float normalY = contacts.getNormalY(i);
+                float speed = velocity.x * normalX + velocity.y * normalY; //Negative when moving into the block
+
+                Block block = blocks.getBlock(index);
+                BallCollision contact = contactHits[1].reset();
+                contact.blockType = block.getType();
+                contact.magnitude = Math.max(0, -speed);
+
+                if (speed < 0){ //Contacts sharing a normal only reflect the velocity once
+                    if (block.getType() == Block.TYPE_BREAKABLE && contact.isImpactful()){
+                        breakBlock(normalX * speed * 0.25f, normalY * speed * 0.25f, ((BreakableBlock) block), blocks, index);
+                    }
+                    velocity.addInPlace(-normalX * speed * (1 + drag), -normalY * speed * (1 + drag));
+                }
+                if (contact.greater(collision)){
+                    collision.set(contact);
+                }
+            }
+        }
+
+        pullIntoHoles(blocks);
+        return collision;
+    }
+
+    /**
+     * Lets the holes the ball is over pull on it
+     * @param blocks packed blocks, the neighbour list must be up to date
+     */
+    private void pullIntoHoles(BlockStore blocks){
+        for (int i = 0; i < neighbourCount; i++) {
+            int block = neighbours[i];
+            if (blocks.getCode(block) == BlockStore.CODE_HOLE){
+                collisionTests++;
+                float halfWidth = blocks.getHalfWidth(block);
+                float halfHeight = blocks.getHalfHeight(block);
+                boolean inside = Physics.BallBlockCollision(position.x, position.y, radius,
+                        blocks.getMinX(block) + halfWidth, blocks.getMinY(block) + halfHeight, halfWidth, halfHeight);
+
+                if (inside && holeTrigger(blocks.getBlock(block))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the distance field to see if every wall is out of reach of a move.
+     * The interpolated distance can be too long by up to the distance to the farthest sample around the point
+     * (1.41 spacings), so the move is only cleared with FIELD_MARGIN spacings to spare, and a cleared move never misses a wall.
+     * @param field distance field of the walls
+     * @param x x the ball moves from
+     * @param y y the ball moves from
+     * @param move length of the move
+     * @return true if no wall can be touched
+     */
+    private boolean wallsOutOfReach(DistanceField field, float x, float y, float move){
+        fieldLookups++;
+        if (field.getDistance(x, y) > move + radius + field.getSpacing() * FIELD_MARGIN){
+            fieldSkips++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Makes sure the neighbour list holds every block that can touch the box.
+     * The list is kept while the box stays inside the area it covers and no block has been removed,
+     * otherwise it is rebuilt around the box with a margin, so a rolling ball rarely queries the grid.
+     * @param blocks packed blocks of the level
+     * @param left left edge of box
+     * @param top top edge of box
+     * @param right right edge of box
+     * @param bottom bottom edge of box
+     */
+    private void updateNeighbours(BlockStore blocks, float left, float top, float right, float bottom){
+        if (blocks == neighbourStore && blocks.getVersion() == neighbourVersion
+                && left >= neighbourLeft && top >= neighbourTop && right <= neighbourRight && bottom <= neighbourBottom){
+            neighbourHits++;
+            return;
+        }
+
+        float margin = radius * NEIGHBOUR_MARGIN;
+        neighbourLeft = left - margin;
+        neighbourTop = top - margin;
+        neighbourRight = right + margin;
+        neighbourBottom = bottom + margin;
+
+        neighbourCount = blocks.query(neighbourLeft, neighbourTop, neighbourRight, neighbourBottom);
+        if (neighbourCount > neighbours.length){
+            neighbours = new int[Math.max(neighbourCount, neighbours.length * 2)];
+        }
+        for (int i = 0; i < neighbourCount; i++){
+            neighbours[i] = blocks.getResult(i);
+        }
+
+        neighbourStore = blocks;
+        neighbourVersion = blocks.getVersion();
+        neighbourRebuilds++;
+    }
+
+    /**
+     * Sets the position of the ball and sets velocity to 0
+     * @param pos position to set
+     */
+    private void setPosition(Vector2 pos){
+        position.set(pos);
+        velocity.set(0, 0);
+    }
+
+    /**
+     * Function to run when inside the collider block of a hole
+     *
+     * Resets the player position if close enough to hole center
+     * "Pulls" the ball towards the center if not close enough
+     * @return true if the player position was reset
+     */
+    private boolean holeTrigger(Block block){
+        float fallX = block.getRectangle().centerX() - position.x;
+        float fallY = block.getRectangle().centerY() - position.y;
+        float distance = (float)Math.sqrt(fallX * fallX + fallY * fallY);
+
+        if(distance < Level.getPixelSize() * 0.35f){
+            setPosition(spawnPoint);
+            return true;
+        }
+        else {
+            float force = 1 - distance / Level.getPixelSize();
+            velocity.x += fallX / distance * force * 5 * stepScale;
+            velocity.y += fallY / distance * force * 5 * stepScale;
+            return false;
+        }
+    }
+
+
+    /**
+     * Breaks a breakable block
+     * @param breakX x velocity of the pieces
+     * @param breakY y velocity of the pieces
+     * @param block block in question
+     * @param blocks packed blocks (for removing the block)
+     * @param index index of the block in blocks
+     */
+    private void breakBlock(float breakX, float breakY, BreakableBlock block, BlockStore blocks, int index){
+        Vector2 breakVel = new Vector2(breakX, breakY);
+        block.breakBlock(breakVel);
+        blocks.remove(index);
+    }
+}
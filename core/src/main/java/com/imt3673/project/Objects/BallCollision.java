@@ -14,7 +14,7 @@ public class BallCollision {
      * @return if this collision is greater then the other
      */
     public boolean greater(BallCollision other){
-        boolean typeComp = Block.TYPE_VALUES.get(blockType) > Block.TYPE_VALUES.get(other.blockType);
+        boolean typeComp = Block.getTypeValue(blockType) > Block.getTypeValue(other.blockType);
         boolean typeEqual = blockType == other.blockType;
         boolean magnitudeComp = magnitude > other.magnitude;
 
@@ -25,6 +25,27 @@ public class BallCollision {
         }
     }
 
+    /**
+     * Resets the collision to "no collision", so the object can be reused
+     * @return this collision
+     */
+    public BallCollision reset(){
+        blockType = Block.TYPE_CLEAR;
+        magnitude = 0;
+        return this;
+    }
+
+    /**
+     * Copies another collision into this one
+     * @param other the collision to copy
+     * @return this collision
+     */
+    public BallCollision set(BallCollision other){
+        blockType = other.blockType;
+        magnitude = other.magnitude;
+        return this;
+    }
+
     public boolean isImpactful(){
         return magnitude > 250;
     }
@@ -0,0 +1,307 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import java.util.Arrays;
+
+/**
+ * The balls of a level, all driven by the same tilt.
+ * Every ball collides with the blocks on its own (BlockStore grid and neighbour list),
+ * the balls collide with each other through a sweep and prune broad phase:
+ * the balls are kept sorted by left edge, so only balls whose x ranges overlap are tested.
+ * The order barely changes between steps, so an insertion sort keeps it sorted in about linear time.
+ * A ball that reaches the goal is home, it stops moving and no longer collides.
+ */
+public class BallSwarm {
+    private Ball[] balls;
+    private boolean[] home;
+    private int[] order; //Ball indices sorted by left edge, kept between steps
+    private int size;
+    private int homeCount;
+    private final BallCollision hit = new BallCollision(); //Returned by physicsUpdate, reused
+    private long pairTests; //Ball pairs tested in the narrow phase, for diagnostics
+
+    private static final float RESTITUTION = 0.75f; //Share of the closing speed kept when two balls bounce, same as Ball.drag
+    private static final float SPAWN_SPACING = 2.2f; //Distance between spawned balls, in radii
+
+    /**
+     * Creates an empty swarm
+     * @param capacity number of balls that will be added
+     */
+    public BallSwarm(int capacity){
+        balls = new Ball[Math.max(1, capacity)];
+        home = new boolean[balls.length];
+        order = new int[balls.length];
+    }
+
+    /**
+     * Spawns balls around the spawn point of a level.
+     * A single ball goes on the spawn point. A swarm is laid out from the middle of the spawn pixel instead,
+     * the spawn point is its corner and can touch the walls around it, and the other balls take the free spots
+     * closest to it that a ball could roll to, spots behind walls are skipped.
+     * A swarm of more than one ball uses Ball.SOLVER_CONTACTS, the pushes between balls can move a ball
+     * slightly into a wall and the contact solver pushes it back out.
+     * @param level level to spawn in
+     * @param count number of balls, fewer are spawned if the level has no room for them
+     * @param phoneHeight height of phone
+     * @return BallSwarm the balls
+     */
+    public static BallSwarm spawn(Level level, int count, int phoneHeight){
+        BallSwarm swarm = new BallSwarm(count);
+        Vector2 spawn = level.getSpawnPoint();
+        if (count <= 1){
+            swarm.add(new Ball(new Vector2(spawn), phoneHeight));
+            return swarm;
+        }
+
+        //Flood fill over a grid of spots around the spawn pixel, closest spots first
+        BlockStore blocks = level.getBlockStore();
+        Rect bounds = level.getBackground().getRectangle();
+        float radius = Ball.radiusFor(phoneHeight);
+        float spacing = radius * SPAWN_SPACING;
+        float startX = spawn.x + Level.getPixelSize() / 2;
+        float startY = spawn.y + Level.getPixelSize() / 2;
+        int left = Math.max(0, (int)Math.floor((startX - radius) / spacing)); //Spots left of the start
+        int top = Math.max(0, (int)Math.floor((startY - radius) / spacing));
+        int columns = left + 1 + Math.max(0, (int)Math.floor((bounds.width() - radius - startX) / spacing));
+        int rows = top + 1 + Math.max(0, (int)Math.floor((bounds.height() - radius - startY) / spacing));
+
+        boolean[] visited = new boolean[columns * rows];
+        int[] queue = new int[columns * rows];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = top * columns + left;
+        visited[top * columns + left] = true;
+        while (head < tail && swarm.size() < count){
+            int spot = queue[head++];
+            float x = startX + (spot % columns - left) * spacing;
+            float y = startY + (spot / columns - top) * spacing;
+            swarm.add(new Ball(new Vector2(x, y), phoneHeight));
+
+            for (int direction = 0; direction < 4; direction++){
+                int column = spot % columns + ((direction == 0) ? 1 : (direction == 1) ? -1 : 0);
+                int row = spot / columns + ((direction == 2) ? 1 : (direction == 3) ? -1 : 0);
+                if (column < 0 || row < 0 || column >= columns || row >= rows || visited[row * columns + column]){
+                    continue;
+                }
+
+                int axis = (direction < 2) ? 0 : 1;
+                float to = (axis == 0) ? startX + (column - left) * spacing : startY + (row - top) * spacing;
+                if (canRoll(blocks, axis, (axis == 0) ? x : y, to, (axis == 0) ? y : x, radius)){
+                    visited[row * columns + column] = true;
+                    queue[tail++] = row * columns + column;
+                }
+            }
+        }
+
+        for (int i = 0; i < swarm.size(); i++){
+            swarm.get(i).setSolver(Ball.SOLVER_CONTACTS);
+        }
+        return swarm;
+    }
+
+    /**
+     * Checks that a ball can roll along an axis without hitting anything, and stop at the end without touching anything
+     */
+    private static boolean canRoll(BlockStore blocks, int axis, float from, float to, float other, float radius){
+        float min = Math.min(from, to) - radius;
+        float max = Math.max(from, to) + radius;
+        int count = (axis == 0)
+                ? blocks.query(min, other - radius, max, other + radius)
+                : blocks.query(other - radius, min, other + radius, max);
+        for (int i = 0; i < count; i++){
+            int block = blocks.getResult(i);
+            float otherMin = (axis == 0) ? blocks.getMinY(block) : blocks.getMinX(block);
+            float otherMax = (axis == 0) ? blocks.getMaxY(block) : blocks.getMaxX(block);
+            float blockMin = (axis == 0) ? blocks.getMinX(block) : blocks.getMinY(block);
+            float blockMax = (axis == 0) ? blocks.getMaxX(block) : blocks.getMaxY(block);
+
+            boolean touching = Physics.BallBlockSweep(radius, other, otherMin, otherMax, blockMin, blockMax, to, to) != Physics.NO_HIT;
+            boolean inTheWay = blocks.getCode(block) != BlockStore.CODE_HOLE
+                    && Physics.BallBlockSweep(radius, other, otherMin, otherMax, blockMin, blockMax, from, to) != Physics.NO_HIT;
+            if (touching || inTheWay){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a ball
+     * @param ball ball to add
+     */
+    public void add(Ball ball){
+        if (size == balls.length){
+            balls = Arrays.copyOf(balls, size * 2);
+            home = Arrays.copyOf(home, size * 2);
+            order = Arrays.copyOf(order, size * 2);
+        }
+        balls[size] = ball;
+        order[size] = size;
+        size++;
+    }
+
+    /**
+     * Gets the number of balls
+     * @return int size
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Gets a ball
+     * @param i ball number
+     * @return Ball ball
+     */
+    public Ball get(int i){
+        return balls[i];
+    }
+
+    /**
+     * Checks if a ball has reached the goal
+     * @param i ball number
+     * @return true if the ball is home
+     */
+    public boolean isHome(int i){
+        return home[i];
+    }
+
+    /**
+     * Gets the number of balls that have reached the goal
+     * @return int home count
+     */
+    public int getHomeCount(){
+        return homeCount;
+    }
+
+    /**
+     * Gets how many ball pairs have been tested in the narrow phase, for diagnostics
+     * @return long pair tests
+     */
+    public long getPairTests(){
+        return pairTests;
+    }
+
+    /**
+     * Gets the average x of the balls that are not home, for the camera to follow
+     * @return float center x
+     */
+    public float getCenterX(){
+        float sum = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++){
+            if (!home[i]){
+                sum += balls[i].getPosition().x;
+                count++;
+            }
+        }
+        return (count > 0) ? sum / count : balls[0].getPosition().x;
+    }
+
+    /**
+     * Does the physics update for every ball, then the collisions between them.
+     * The goal is only reported once every ball is home, like the goal of a single ball.
+     * @param accelData xyz acceleration data
+     * @param deltaTime time passed since last update
+     * @param blocks packed blocks of the level
+     * @return the strongest collision of the step, reused by the next call
+     */
+    public BallCollision physicsUpdate(final float[] accelData, float deltaTime, BlockStore blocks){
+        hit.reset();
+        for (int i = 0; i < size; i++){
+            if (home[i]){
+                continue;
+            }
+
+            BallCollision ballHit = balls[i].physicsUpdate(accelData, deltaTime, blocks);
+            if (ballHit.blockType == Block.TYPE_GOAL){
+                home[i] = true;
+                homeCount++;
+            } else if (ballHit.greater(hit)){
+                hit.set(ballHit);
+            }
+        }
+
+        collideBalls();
+
+        if (homeCount == size){
+            hit.blockType = Block.TYPE_GOAL;
+        }
+        return hit;
+    }
+
+    /**
+     * Sweep and prune: sorts the balls by left edge, then tests each ball only against the balls
+     * that start before it ends
+     */
+    private void collideBalls(){
+        for (int i = 1; i < size; i++){ //Insertion sort, the balls are still almost in order from the last step
+            int ball = order[i];
+            float left = left(ball);
+            int j = i - 1;
+            while (j >= 0 && left(order[j]) > left){
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = ball;
+        }
+
+        for (int i = 0; i < size; i++){
+            int a = order[i];
+            if (home[a]){
+                continue;
+            }
+
+            float right = balls[a].getPosition().x + balls[a].getRadius();
+            for (int j = i + 1; j < size && left(order[j]) <= right; j++){
+                int b = order[j];
+                if (!home[b]){
+                    collide(balls[a], balls[b]);
+                }
+            }
+        }
+    }
+
+    private float left(int ball){
+        return balls[ball].getPosition().x - balls[ball].getRadius();
+    }
+
+    /**
+     * Pushes two overlapping balls apart and bounces them off each other, both weigh the same
+     */
+    private void collide(Ball a, Ball b){
+        Vector2 positionA = a.getPosition();
+        Vector2 positionB = b.getPosition();
+        float reach = a.getRadius() + b.getRadius();
+        float distanceY = positionB.y - positionA.y;
+        if (Math.abs(distanceY) >= reach){
+            return;
+        }
+
+        pairTests++;
+        float distanceX = positionB.x - positionA.x;
+        float distanceSq = distanceX * distanceX + distanceY * distanceY;
+        if (distanceSq >= reach * reach){
+            return;
+        }
+
+        //Normal from a to b, balls on the same spot are pushed apart along x
+        float distance = (float)Math.sqrt(distanceSq);
+        float normalX = (distance > 0) ? distanceX / distance : 1;
+        float normalY = (distance > 0) ? distanceY / distance : 0;
+
+        float push = (reach - distance) / 2;
+        positionA.addInPlace(-normalX * push, -normalY * push);
+        positionB.addInPlace(normalX * push, normalY * push);
+
+        Vector2 velocityA = a.getVelocity();
+        Vector2 velocityB = b.getVelocity();
+        float closing = (velocityB.x - velocityA.x) * normalX + (velocityB.y - velocityA.y) * normalY;
+        if (closing < 0){ //Moving towards each other
+            float impulse = -(1 + RESTITUTION) * closing / 2;
+            velocityA.addInPlace(-normalX * impulse, -normalY * impulse);
+            velocityB.addInPlace(normalX * impulse, normalY * impulse);
+        }
+    }
+}
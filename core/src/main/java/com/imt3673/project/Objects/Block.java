@@ -0,0 +1,81 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+/**
+ * A rectangular block
+ * The position is "baked" into the rectangle.
+ */
+public class Block extends GameObject{
+    //Types of blocks, clear means no block
+    //Made types ARGB colors (same values as android.graphics.Color), so that its compatibly with the bitmaps
+    public static final int TYPE_CLEAR = 0xFFFFFFFF;
+    public static final int TYPE_OBSTACLE = 0xFF000000;
+    public static final int TYPE_GOAL = 0xFF00FF00;
+    public static final int TYPE_SPAWN = 0xFF0000FF;
+    public static final int TYPE_HOLE = 0xFF00FFFF;
+    public static final int TYPE_BREAKABLE = 0xFFFF0000;
+
+
+    protected int type;
+    protected Rect rectangle;
+
+    /**
+     * Creates a boundry box
+     * @param width of box
+     * @param height of box
+     */
+    public Block(Vector2 position, float width, float height, int type){
+        this.position = position;
+        this.type = type;
+
+        rectangle = new Rect(position.x, position.y, position.x + width, position.y + height);
+    }
+
+    /**
+     * Gets the rectangle
+     * @return Rect rectangle
+     */
+    public Rect getRectangle(){
+        return rectangle;
+    }
+
+    /**
+     * Returns the center of the block
+     * @return Vector2 center
+     */
+    public Vector2 getCenter() {
+        return new Vector2(rectangle.centerX(), rectangle.centerY());
+    }
+
+    /**
+     * Gets how important a block type is when comparing collisions.
+     * A switch instead of a map, so no Integer boxing happens in the physics step.
+     * @param type block type
+     * @return int value, higher is more important
+     */
+    public static int getTypeValue(int type){
+        switch (type){
+            case TYPE_OBSTACLE:
+                return 1;
+            case TYPE_BREAKABLE:
+                return 2;
+            case TYPE_HOLE:
+                return 3;
+            case TYPE_GOAL:
+                return 4;
+            case TYPE_SPAWN:
+                return -1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the type of the block
+     * @return int type
+     */
+    public int getType(){
+        return type;
+    }
+}
@@ -0,0 +1,322 @@
+package com.imt3673.project.Objects;
+
+import java.util.Arrays;
+
+/**
+ * Packed copy of the level blocks for the collision hot path.
+ * Every block is an index into primitive arrays (struct of arrays): bounds, half extents and a type code,
+ * so a collision test reads a few floats next to each other instead of following Block -> Rect -> floats.
+ * A uniform grid of block indices, packed into one int array with an offset per cell (compressed sparse rows),
+ * finds the blocks near the ball. The grid is built once, blocks that leave the level (broken crates)
+ * are tombstoned instead of removed, so nothing is moved or allocated while playing.
+ */
+public class BlockStore {
+    public static final byte CODE_REMOVED = 0;
+    public static final byte CODE_OBSTACLE = 1;
+    public static final byte CODE_BREAKABLE = 2;
+    public static final byte CODE_HOLE = 3;
+    public static final byte CODE_GOAL = 4;
+
+    private final float[] minX;
+    private final float[] minY;
+    private final float[] maxX;
+    private final float[] maxY;
+    private final float[] halfWidth;
+    private final float[] halfHeight;
+    private final byte[] codes;
+    private final Block[] blocks;
+    private int size;
+    private int version; //Changes when a block is removed, so cached query results can be dropped
+    private DistanceField distanceField; //Optional, tells the ball when the obstacle blocks are out of reach
+
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+    private int[] cellStart; //Index into cellBlocks of the first block of every cell, plus one past the end
+    private int[] cellBlocks;
+
+    private final int[] stamps; //Query that last reported each block, avoids duplicates from blocks in several cells
+    private int stamp;
+    private int[] results = new int[64];
+    private int lastQueryVisits; //Number of cell entries looked at by the last query
+
+    /**
+     * Creates an empty store covering the area (0, 0) to (width, height)
+     * @param capacity number of blocks that will be added
+     * @param width width of the area
+     * @param height height of the area
+     * @param cellSize width and height of one grid cell
+     */
+    public BlockStore(int capacity, float width, float height, float cellSize){
+        if (cellSize <= 0){
+            throw new IllegalArgumentException("BlockStore cell size must be positive, was " + cellSize);
+        }
+
+        minX = new float[capacity];
+        minY = new float[capacity];
+        maxX = new float[capacity];
+        maxY = new float[capacity];
+        halfWidth = new float[capacity];
+        halfHeight = new float[capacity];
+        codes = new byte[capacity];
+        blocks = new Block[capacity];
+        stamps = new int[capacity];
+
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int)Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int)Math.ceil(height / cellSize));
+    }
+
+    /**
+     * Gets the type code a block type is stored as
+     * @param type block type
+     * @return byte code
+     */
+    public static byte codeFor(int type){
+        switch (type){
+            case Block.TYPE_OBSTACLE:
+                return CODE_OBSTACLE;
+            case Block.TYPE_BREAKABLE:
+                return CODE_BREAKABLE;
+            case Block.TYPE_HOLE:
+                return CODE_HOLE;
+            case Block.TYPE_GOAL:
+                return CODE_GOAL;
+            default:
+                throw new IllegalArgumentException("Block type " + Integer.toHexString(type) + " does not collide");
+        }
+    }
+
+    /**
+     * Adds a block, call buildGrid() once all blocks are added
+     * @param block block to add
+     * @return int index of the block
+     */
+    public int add(Block block){
+        Rect rect = block.getRectangle();
+        int index = size++;
+        minX[index] = rect.left;
+        minY[index] = rect.top;
+        maxX[index] = rect.right;
+        maxY[index] = rect.bottom;
+        halfWidth[index] = rect.width() / 2;
+        halfHeight[index] = rect.height() / 2;
+        codes[index] = codeFor(block.getType());
+        blocks[index] = block;
+        return index;
+    }
+
+    /**
+     * Builds the grid from the added blocks
+     */
+    public void buildGrid(){
+        cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < size; i++){ //Count the blocks in every cell, stored one cell ahead
+            for (int y = row(minY[i]); y <= row(maxY[i]); y++){
+                for (int x = column(minX[i]); x <= column(maxX[i]); x++){
+                    cellStart[y * columns + x + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < columns * rows; cell++){
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        cellBlocks = new int[cellStart[columns * rows]];
+        int[] fill = Arrays.copyOf(cellStart, columns * rows);
+        for (int i = 0; i < size; i++){
+            for (int y = row(minY[i]); y <= row(maxY[i]); y++){
+                for (int x = column(minX[i]); x <= column(maxX[i]); x++){
+                    cellBlocks[fill[y * columns + x]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tombstones a block, it is no longer found by queries
+     * @param index index of the block
+     */
+    public void remove(int index){
+        codes[index] = CODE_REMOVED;
+        version++;
+    }
+
+    /**
+     * Gets a number that changes every time a block is removed.
+     * Query results kept from an older version may contain removed blocks.
+     * @return int version
+     */
+    public int getVersion(){
+        return version;
+    }
+
+    /**
+     * Sets a distance field of the obstacle blocks, the ball then only tests them when the field shows one is in reach
+     * @param distanceField field baked from this store, or null to always test them
+     */
+    public void setDistanceField(DistanceField distanceField){
+        this.distanceField = distanceField;
+    }
+
+    /**
+     * Gets the distance field of the obstacle blocks
+     * @return DistanceField the field, null if there is none
+     */
+    public DistanceField getDistanceField(){
+        return distanceField;
+    }
+
+    /**
+     * Finds the blocks in the cells overlapped by the query box, every block once.
+     * Read them with getResult(), they are valid until the next query.
+     * @param left left edge of query box
+     * @param top top edge of query box
+     * @param right right edge of query box
+     * @param bottom bottom edge of query box
+     * @return int number of blocks found
+     */
+    public int query(float left, float top, float right, float bottom){
+        if (++stamp == 0){ //Wrapped around, forget the old stamps
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+
+        int count = 0;
+        lastQueryVisits = 0;
+        int maxColumn = column(right);
+        int maxRow = row(bottom);
+        for (int y = row(top); y <= maxRow; y++){
+            for (int x = column(left); x <= maxColumn; x++){
+                int cell = y * columns + x;
+                lastQueryVisits += cellStart[cell + 1] - cellStart[cell];
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++){
+                    int block = cellBlocks[i];
+                    if (codes[block] != CODE_REMOVED && stamps[block] != stamp){
+                        stamps[block] = stamp;
+                        if (count == results.length){
+                            results = Arrays.copyOf(results, count * 2);
+                        }
+                        results[count++] = block;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets a block found by the last query
+     * @param i result number, below the count query() returned
+     * @return int index of the block
+     */
+    public int getResult(int i){
+        return results[i];
+    }
+
+    /**
+     * Gets how many cell entries the last query looked at, used for diagnostics
+     * @return int visits
+     */
+    public int getLastQueryVisits(){
+        return lastQueryVisits;
+    }
+
+    /**
+     * Gets the number of blocks added, including tombstoned ones
+     * @return int size
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Gets the type code of a block, CODE_REMOVED if it was tombstoned
+     * @param index index of the block
+     * @return byte code
+     */
+    public byte getCode(int index){
+        return codes[index];
+    }
+
+    /**
+     * Gets the block object, for the rare cases that need more than the packed data
+     * @param index index of the block
+     * @return Block block
+     */
+    public Block getBlock(int index){
+        return blocks[index];
+    }
+
+    /**
+     * Gets the left edge of a block
+     * @param index index of the block
+     * @return float minX
+     */
+    public float getMinX(int index){
+        return minX[index];
+    }
+
+    /**
+     * Gets the top edge of a block
+     * @param index index of the block
+     * @return float minY
+     */
+    public float getMinY(int index){
+        return minY[index];
+    }
+
+    /**
+     * Gets the right edge of a block
+     * @param index index of the block
+     * @return float maxX
+     */
+    public float getMaxX(int index){
+        return maxX[index];
+    }
+
+    /**
+     * Gets the bottom edge of a block
+     * @param index index of the block
+     * @return float maxY
+     */
+    public float getMaxY(int index){
+        return maxY[index];
+    }
+
+    /**
+     * Gets the half of the width of a block
+     * @param index index of the block
+     * @return float halfWidth
+     */
+    public float getHalfWidth(int index){
+        return halfWidth[index];
+    }
+
+    /**
+     * Gets the half of the height of a block
+     * @param index index of the block
+     * @return float halfHeight
+     */
+    public float getHalfHeight(int index){
+        return halfHeight[index];
+    }
+
+    /**
+     * Converts a world x coordinate to a column, clamped to the grid
+     */
+    private int column(float x){
+        return clamp((int)Math.floor(x / cellSize), columns);
+    }
+
+    /**
+     * Converts a world y coordinate to a row, clamped to the grid
+     */
+    private int row(float y){
+        return clamp((int)Math.floor(y / cellSize), rows);
+    }
+
+    private static int clamp(int value, int count){
+        return Math.max(0, Math.min(count - 1, value));
+    }
+}
@@ -1,10 +1,5 @@
 package com.imt3673.project.Objects;
 
-import android.graphics.Canvas;
-import android.graphics.Matrix;
-import android.graphics.RectF;
-
-import com.imt3673.project.media.TextureSet;
 import com.imt3673.project.utils.Vector2;
 
 /**
@@ -14,8 +9,6 @@ public class BreakableBlock extends Block {
     private boolean broken = false;
     private Vector2 velocity;
 
-    private TextureSet textureSet;
-
     private float timer;
 
     private float width;
@@ -28,11 +21,10 @@ public class BreakableBlock extends Block {
      * @param width of box
      * @param height of box
      */
-    public BreakableBlock(Vector2 position, float width, float height, int type, TextureSet textureSet){
+    public BreakableBlock(Vector2 position, float width, float height, int type){
         super(position, width, height, type);
         this.width = width;
         this.height = height;
-        this.textureSet = textureSet;
     }
 
     /**
@@ -43,10 +35,17 @@ public class BreakableBlock extends Block {
         if (!broken){
             broken = true;
             velocity = breakVel;
-            setTexture(textureSet, TextureSet.CRATEDAMAGED_TEX);
         }
     }
 
+    /**
+     * Returns if the block has been hit hard enough to break
+     * @return boolean broken
+     */
+    public boolean isBroken(){
+        return broken;
+    }
+
     /**
      * Updates block, returns true when the block is gone
      * @param deltaTime deltaTime
@@ -54,14 +53,14 @@ public class BreakableBlock extends Block {
      */
     public boolean update(float deltaTime){
         if (broken){
-            position = Vector2.add(position, Vector2.mult(velocity, deltaTime));
+            position.addInPlace(velocity.x * deltaTime, velocity.y * deltaTime);
             timer += deltaTime;
 
             float brokenTTL = 1f;
             float shrinkDelta = deltaTime * brokenTTL / 2f;
             widthMod += shrinkDelta;
             heightMod += shrinkDelta;
-            rectangle = new RectF(
+            rectangle.set(
                     position.x + widthMod,
                     position.y + heightMod,
                     position.x + width - widthMod,
@@ -71,19 +70,4 @@ public class BreakableBlock extends Block {
             return false;
         }
     }
-
-
-    /**
-     * Draws the ball to the canvas
-     * @param canvas draw target canvas
-     */
-    @Override
-    public void draw(Canvas canvas, Vector2 cameraPosition){
-        Matrix m = new Matrix();
-        m.postScale(Level.getPixelSize()/bitmap.getScaledWidth(canvas), Level.getPixelSize()/bitmap.getScaledWidth(canvas));
-        m.postTranslate(position.x - cameraPosition.x, position.y - cameraPosition.y);
-        shader.setLocalMatrix(m);
-
-        canvas.drawRect(Vector2.subtract(cameraPosition, rectangle), paint);
-    }
 }
@@ -0,0 +1,133 @@
+package com.imt3673.project.Objects;
+
+import java.util.Arrays;
+
+/**
+ * The contacts between the ball and the blocks it overlaps, gathered in one pass over its neighbours.
+ * Every contact has the block, a normal pointing from the block to the ball and how deep the ball is in it.
+ * Reused every sub-step, the arrays only grow.
+ */
+public class ContactManifold {
+    private int[] blocks = new int[8];
+    private float[] normalX = new float[8];
+    private float[] normalY = new float[8];
+    private float[] depth = new float[8];
+    private int count;
+    private float correctionX;
+    private float correctionY;
+
+    /**
+     * Removes all contacts
+     */
+    public void reset(){
+        count = 0;
+    }
+
+    /**
+     * Adds a contact
+     * @param block index of the block
+     * @param x x of the normal, pointing from the block to the ball
+     * @param y y of the normal
+     * @param depth how deep the ball is in the block along the normal
+     */
+    public void add(int block, float x, float y, float depth){
+        if (count == blocks.length){
+            blocks = Arrays.copyOf(blocks, count * 2);
+            normalX = Arrays.copyOf(normalX, count * 2);
+            normalY = Arrays.copyOf(normalY, count * 2);
+            this.depth = Arrays.copyOf(this.depth, count * 2);
+        }
+        blocks[count] = block;
+        normalX[count] = x;
+        normalY[count] = y;
+        this.depth[count] = depth;
+        count++;
+    }
+
+    /**
+     * Finds how far to move the ball to get it out of every contact.
+     * The contacts are treated as planes and pushed out of one after another, a few times over (Gauss-Seidel),
+     * so a ball in a corner ends up out of both walls, and contacts sharing a normal (a floor split into blocks)
+     * take a single push instead of one each. Read the result with getCorrectionX() and getCorrectionY().
+     * @param iterations times to go over the contacts
+     * @param skin gap to leave between the ball and the blocks
+     */
+    public void solve(int iterations, float skin){
+        correctionX = 0;
+        correctionY = 0;
+        for (int iteration = 0; iteration < iterations; iteration++){
+            boolean moved = false;
+            for (int i = 0; i < count; i++){
+                float left = depth[i] + skin - (correctionX * normalX[i] + correctionY * normalY[i]);
+                if (left > 0){
+                    correctionX += normalX[i] * left;
+                    correctionY += normalY[i] * left;
+                    moved = true;
+                }
+            }
+            if (!moved){
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of contacts
+     * @return int count
+     */
+    public int getCount(){
+        return count;
+    }
+
+    /**
+     * Gets the block of a contact
+     * @param i contact number
+     * @return int index of the block
+     */
+    public int getBlock(int i){
+        return blocks[i];
+    }
+
+    /**
+     * Gets the x of the normal of a contact
+     * @param i contact number
+     * @return float normal x
+     */
+    public float getNormalX(int i){
+        return normalX[i];
+    }
+
+    /**
+     * Gets the y of the normal of a contact
+     * @param i contact number
+     * @return float normal y
+     */
+    public float getNormalY(int i){
+        return normalY[i];
+    }
+
+    /**
+     * Gets the depth of a contact
+     * @param i contact number
+     * @return float depth
+     */
+    public float getDepth(int i){
+        return depth[i];
+    }
+
+    /**
+     * Gets how far along x solve() moves the ball
+     * @return float correction x
+     */
+    public float getCorrectionX(){
+        return correctionX;
+    }
+
+    /**
+     * Gets how far along y solve() moves the ball
+     * @return float correction y
+     */
+    public float getCorrectionY(){
+        return correctionY;
+    }
+}
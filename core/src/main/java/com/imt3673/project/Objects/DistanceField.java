@@ -0,0 +1,107 @@
+package com.imt3673.project.Objects;
+
+/**
+ * Signed distance from the walls of a level, sampled on a regular grid and baked once at level load.
+ * Only TYPE_OBSTACLE blocks are baked in, they never change while playing. Crates, holes and the goal
+ * are not in the field.
+ * The distance is negative inside a wall and clamped to maxDistance far from walls.
+ * Between the samples it is interpolated bilinearly, so whether a ball is near a wall is one lookup
+ * instead of a test per block.
+ */
+public class DistanceField {
+    private final float spacing;
+    private final float maxDistance;
+    private final int columns; //Samples per row
+    private final int rows;
+    private final float[] distance;
+
+    /**
+     * Bakes the field of the obstacle blocks in a store
+     * @param blocks packed blocks of the level, with the grid built
+     * @param width width of the level
+     * @param height height of the level
+     * @param spacing distance between samples, smaller is more exact near corners but uses more memory
+     * @param maxDistance distance the field is clamped to, anything further away is open space
+     */
+    public DistanceField(BlockStore blocks, float width, float height, float spacing, float maxDistance){
+        if (spacing <= 0){
+            throw new IllegalArgumentException("DistanceField spacing must be positive, was " + spacing);
+        }
+
+        this.spacing = spacing;
+        this.maxDistance = maxDistance;
+        columns = Math.max(2, (int)Math.ceil(width / spacing) + 1);
+        rows = Math.max(2, (int)Math.ceil(height / spacing) + 1);
+        distance = new float[columns * rows];
+
+        for (int y = 0; y < rows; y++){
+            for (int x = 0; x < columns; x++){
+                distance[y * columns + x] = bakeDistance(blocks, x * spacing, y * spacing);
+            }
+        }
+    }
+
+    /**
+     * Exact signed distance from a point to the nearest obstacle, clamped to maxDistance
+     */
+    private float bakeDistance(BlockStore blocks, float x, float y){
+        float outside = maxDistance;
+        float depth = -1; //Deepest the point is inside a single block, 0 on an edge
+        int count = blocks.query(x - maxDistance, y - maxDistance, x + maxDistance, y + maxDistance);
+        for (int i = 0; i < count; i++){
+            int block = blocks.getResult(i);
+            if (blocks.getCode(block) != BlockStore.CODE_OBSTACLE){
+                continue;
+            }
+
+            float dx = Math.max(Math.max(blocks.getMinX(block) - x, x - blocks.getMaxX(block)), 0);
+            float dy = Math.max(Math.max(blocks.getMinY(block) - y, y - blocks.getMaxY(block)), 0);
+            if (dx > 0 || dy > 0){
+                outside = Math.min(outside, (float)Math.sqrt(dx * dx + dy * dy));
+            } else {
+                float inside = Math.min(Math.min(x - blocks.getMinX(block), blocks.getMaxX(block) - x),
+                        Math.min(y - blocks.getMinY(block), blocks.getMaxY(block) - y));
+                depth = Math.max(depth, inside);
+            }
+        }
+        //Walls are split into several blocks, so inside is only exact near the surface, which is all the ball needs
+        return (depth >= 0) ? -Math.min(depth, maxDistance) : outside;
+    }
+
+    /**
+     * Gets the signed distance to the nearest wall, interpolated between the samples around the point.
+     * Points outside the level get the distance at its edge.
+     * @param x world x
+     * @param y world y
+     * @return float distance, negative inside a wall
+     */
+    public float getDistance(float x, float y){
+        float fx = Math.max(0, Math.min(columns - 1, x / spacing));
+        float fy = Math.max(0, Math.min(rows - 1, y / spacing));
+        int x0 = Math.min((int)fx, columns - 2);
+        int y0 = Math.min((int)fy, rows - 2);
+        float tx = fx - x0;
+        float ty = fy - y0;
+
+        int i = y0 * columns + x0;
+        float top = distance[i] + (distance[i + 1] - distance[i]) * tx;
+        float bottom = distance[i + columns] + (distance[i + columns + 1] - distance[i + columns]) * tx;
+        return top + (bottom - top) * ty;
+    }
+
+    /**
+     * Gets the distance between samples
+     * @return float spacing
+     */
+    public float getSpacing(){
+        return spacing;
+    }
+
+    /**
+     * Gets the distance the field is clamped to
+     * @return float maxDistance
+     */
+    public float getMaxDistance(){
+        return maxDistance;
+    }
+}
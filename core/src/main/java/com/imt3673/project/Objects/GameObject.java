@@ -0,0 +1,18 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+/**
+ * Base class for gameobjects
+ */
+public abstract class GameObject {
+    protected Vector2 position;
+
+    /**
+     * gets the position
+     * @return Vector2 position
+     */
+    public Vector2 getPosition(){
+        return position;
+    }
+}
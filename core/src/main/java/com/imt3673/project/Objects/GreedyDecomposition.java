@@ -0,0 +1,44 @@
+package com.imt3673.project.Objects;
+
+/**
+ * The original decomposition, the biggest rect starting at the first pixel, growing right then down.
+ */
+public class GreedyDecomposition implements RectDecomposition {
+
+    @Override
+    public void createRects(int[] pixels, boolean[] consumed, int width, int height, int startX, int startY, int type, LevelData data){
+        int row = startY * width;
+        int w = 1;
+        while (startX + w < width && matches(pixels, consumed, row + startX + w, type)){ //Scan width of rect
+            w++;
+        }
+
+        int h = 1;
+        boolean fullRow = true;
+        while (fullRow && startY + h < height) { //Scan height of rect
+            row = (startY + h) * width;
+            for (int x = startX; x < startX + w; x++){
+                if (!matches(pixels, consumed, row + x, type)){
+                    fullRow = false;
+                    break;
+                }
+            }
+            if (fullRow){
+                h++;
+            }
+        }
+
+        for (int y = startY; y < startY + h; y++){ //Mark pixels of rectangle as used
+            row = y * width;
+            for (int x = startX; x < startX + w; x++){
+                consumed[row + x] = true;
+            }
+        }
+
+        data.addRect(startX, startY, w, h, type);
+    }
+
+    private static boolean matches(int[] pixels, boolean[] consumed, int i, int type){
+        return pixels[i] == type && !consumed[i];
+    }
+}
@@ -0,0 +1,238 @@
+package com.imt3673.project.Objects;
+
+
+import com.imt3673.project.utils.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A level in the game, consisting of blocks.
+ * Only holds the simulation state, the app renders it.
+ */
+public class Level {
+    private Block background;
+    private ArrayList<Block> blocks = new ArrayList<>();
+    private ArrayList<BreakableBlock> breakableBlocks = new ArrayList<>(); //Unbroken crates, part of the static layer
+    private ArrayList<BreakableBlock> brokenBlocks = new ArrayList<>(); //Crates that are breaking, drawn every frame
+    private BlockStore blockStore; //Packed copy of the blocks, the ball collides against it and drawing culls with its grid
+    private static float pixelSize;
+    private static final float FIELD_SPACING = 0.5f; //Distance field sample spacing, in ball radii
+    private static final float FIELD_MAX_DISTANCE = 3; //Distance the field is clamped to, in ball radii
+    private Vector2 spawnPoint;
+    private Listener listener;
+
+    /**
+     * Told when the static part of the level changes, eg. so a renderer can redraw it
+     */
+    public interface Listener {
+        /**
+         * Called when a crate starts breaking and leaves the static part of the level
+         * @param block the crate
+         */
+        void onBlockBroken(BreakableBlock block);
+    }
+
+    /**
+     * Sets the listener
+     * @param listener listener, null to remove it
+     */
+    public void setListener(Listener listener){
+        this.listener = listener;
+    }
+
+    /**
+     * Finds the blocks in a strip of the level, from the top to the bottom, for drawing.
+     * Uses the grid of the block store, so the cost follows the width of the strip and not where it is,
+     * a wall as wide as the level is found once. Broken crates are not found.
+     * The blocks are in the cells the strip overlaps, so some may end just outside it.
+     * Read them with getBlockStore().getResult(), they are valid until the next query of the store.
+     * @param left left edge of the strip
+     * @param right right edge of the strip
+     * @return int number of blocks found
+     */
+    public int queryBlocks(float left, float right){
+        return blockStore.query(left, 0, right, background.getRectangle().height());
+    }
+
+    /**
+     * Gets the crates that are not broken yet
+     * @return List<BreakableBlock> unbroken crates
+     */
+    public List<BreakableBlock> getBreakableBlocks(){
+        return breakableBlocks;
+    }
+
+    /**
+     * Gets the crates that are breaking
+     * @return List<BreakableBlock> breaking crates
+     */
+    public List<BreakableBlock> getBrokenBlocks(){
+        return brokenBlocks;
+    }
+
+    /**
+     * Gets how many blocks the level has, for diagnostics
+     * @return int total blocks
+     */
+    public int getTotalBlockCount(){
+        return blocks.size();
+    }
+
+    /**
+     * Updates the level
+     * @param deltaTime delta time
+     */
+    public void update(float deltaTime){
+        for (int i = 0; i < breakableBlocks.size(); i++){
+            BreakableBlock block = breakableBlocks.get(i);
+            if (block.isBroken()){ //Take it out of the static layer, it is drawn on its own while breaking
+                breakableBlocks.remove(i);
+                brokenBlocks.add(block);
+                i--;
+                if (listener != null){
+                    listener.onBlockBroken(block);
+                }
+            }
+        }
+
+        for (int i = 0; i < brokenBlocks.size(); i++){
+            if (brokenBlocks.get(i).update(deltaTime)){
+                blocks.remove(brokenBlocks.get(i));
+                brokenBlocks.remove(i);
+                i--;
+            }
+        }
+    }
+
+    /**
+     * Gets the spawn point for the level
+     * @return Vector2 spawnPoint
+     */
+    public Vector2 getSpawnPoint(){
+        return spawnPoint;
+    }
+
+    /**
+     * Gets all blocks in level
+     * @return ArrayList<GameObject> blocks
+     */
+    public ArrayList<Block> getBlocks(){
+        return blocks;
+    }
+
+    /**
+     * Gets the packed blocks, with the grid the ball collision uses
+     * @return BlockStore blockStore
+     */
+    public BlockStore getBlockStore(){
+        return blockStore;
+    }
+
+    /**
+     * Size of one pixel in bitmap in world
+     */
+    public static float getPixelSize(){
+        return pixelSize;
+    }
+
+    /**
+     * Size of one level pixel in world for a level, the same scaling buildFromData uses
+     * @param data level layout in pixel units
+     * @param phoneHeight height of canvas
+     * @return float pixel size
+     */
+    public static float pixelSizeFor(LevelData data, int phoneHeight){
+        return phoneHeight / data.getHeight();
+    }
+
+    /**
+     * Builds level from the pixels of a level image
+     * @param source pixels of the level image
+     * @param phoneHeight height of canvas
+     */
+    public void buildFromPixels(PixelSource source, int phoneHeight){
+        buildFromData(LevelBuilder.build(source, new GreedyDecomposition()), phoneHeight);
+    }
+
+    /**
+     * Builds level from level data
+     * @param data level layout in pixel units
+     * @param phoneHeight height of canvas
+     */
+    public void buildFromData(LevelData data, int phoneHeight){
+        buildFromData(data, phoneHeight, false);
+    }
+
+    /**
+     * Builds level from level data, optionally baking a distance field of the walls, so the ball skips wall tests in open space.
+     * The field costs 4 bytes per sample, about (level width / (radius / 2)) * 80 samples on any phone.
+     * @param data level layout in pixel units
+     * @param phoneHeight height of canvas
+     * @param distanceField true to bake the distance field
+     */
+    public void buildFromData(LevelData data, int phoneHeight, boolean distanceField){
+        float scaling = pixelSizeFor(data, phoneHeight);
+        pixelSize = scaling;
+
+        background = new Block(Vector2.zero, data.getWidth() * scaling, data.getHeight() * scaling, Block.TYPE_CLEAR);
+        createBlockStore(data, scaling, phoneHeight);
+
+        if (data.getSpawnX() >= 0){
+            spawnPoint = new Vector2(data.getSpawnX() * scaling, data.getSpawnY() * scaling);
+        }
+
+        for (int i = 0; i < data.getRectCount(); i++){
+            createRect(data.getRectX(i), data.getRectY(i), data.getRectWidth(i), data.getRectHeight(i), data.getRectType(i), scaling);
+        }
+        blockStore.buildGrid();
+        if (distanceField){
+            float radius = Ball.radiusFor(phoneHeight);
+            blockStore.setDistanceField(new DistanceField(blockStore, background.getRectangle().width(), background.getRectangle().height(),
+                    radius * FIELD_SPACING, radius * FIELD_MAX_DISTANCE));
+        }
+    }
+
+    /**
+     * Creates the block store for level.
+     * A grid cell is at least as big as the ball, so the ball never overlaps more than 2x2 cells.
+     * @param data level layout
+     * @param scaling scaling to use
+     * @param phoneHeight height of canvas
+     */
+    private void createBlockStore(LevelData data, float scaling, int phoneHeight){
+        float cellSize = Math.max(scaling, Ball.radiusFor(phoneHeight) * 2);
+        blockStore = new BlockStore(data.getRectCount(), data.getWidth() * scaling, data.getHeight() * scaling, cellSize);
+    }
+
+    /**
+     * Creates a rect
+     * @param x x pos
+     * @param y y pos
+     * @param w width
+     * @param h height
+     * @param type type of block
+     * @param scaling scaling to use
+     */
+    private void createRect(int x, int y, int w, int h, int type, float scaling){
+        Vector2 pos = new Vector2(x * scaling, y * scaling);
+        Block block;
+        if (type == Block.TYPE_BREAKABLE) {
+            block = new BreakableBlock(pos, w * scaling, h * scaling, type);
+            breakableBlocks.add((BreakableBlock)block);
+        } else {
+            block = new Block(pos, w * scaling, h * scaling, type);
+        }
+
+        blocks.add(block);
+        blockStore.add(block);
+    }
+
+    /**
+     * Gets the background block, covering the whole level
+     * @return Block background
+     */
+    public Block getBackground() {
+        return background;
+    }
+}
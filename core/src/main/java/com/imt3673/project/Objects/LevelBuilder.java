@@ -0,0 +1,96 @@
+package com.imt3673.project.Objects;
+
+/**
+ * Turns the pixels of a level image into block rectangles.
+ * Works on the pixel array read once from the bitmap, consumed pixels are tracked
+ * in a separate mask so the bitmap itself is never modified.
+ */
+public class LevelBuilder {
+    public static final int DECOMPOSITION_GREEDY = 0;
+    public static final int DECOMPOSITION_OPTIMAL = 1;
+
+    /**
+     * Gets the decomposition strategy for an id
+     * @param id one of the DECOMPOSITION_ constants
+     * @return RectDecomposition the strategy
+     */
+    public static RectDecomposition getDecomposition(int id){
+        switch (id){
+            case DECOMPOSITION_GREEDY:
+                return new GreedyDecomposition();
+            case DECOMPOSITION_OPTIMAL:
+                return new OptimalDecomposition();
+            default:
+                throw new IllegalArgumentException("Unknown decomposition " + id);
+        }
+    }
+
+    /**
+     * Builds level data from a pixel source
+     * @param source pixels of the level image
+     * @param decomposition splits walls, holes and goals into rects
+     * @return LevelData the level layout
+     */
+    public static LevelData build(PixelSource source, RectDecomposition decomposition){
+        int[] pixels = new int[source.getWidth() * source.getHeight()];
+        source.getPixels(pixels);
+
+        return build(pixels, source.getWidth(), source.getHeight(), decomposition);
+    }
+
+    /**
+     * Builds level data from pixels with the greedy decomposition
+     * @param pixels ARGB pixels, row by row (as returned by Bitmap.getPixels)
+     * @param width width of level in pixels
+     * @param height height of level in pixels
+     * @return LevelData the level layout
+     */
+    public static LevelData build(int[] pixels, int width, int height){
+        return build(pixels, width, height, new GreedyDecomposition());
+    }
+
+    /**
+     * Builds level data from pixels
+     * @param pixels ARGB pixels, row by row (as returned by Bitmap.getPixels)
+     * @param width width of level in pixels
+     * @param height height of level in pixels
+     * @param decomposition splits walls, holes and goals into rects
+     * @return LevelData the level layout
+     */
+    public static LevelData build(int[] pixels, int width, int height, RectDecomposition decomposition){
+        if (pixels.length < width * height){
+            throw new IllegalArgumentException("LevelBuilder needs " + (width * height) + " pixels, got " + pixels.length);
+        }
+
+        LevelData data = new LevelData(width, height);
+        boolean[] consumed = new boolean[width * height];
+
+        for (int x = 0; x < width; x++){
+            for (int y = 0; y < height; y++){
+                int i = y * width + x;
+                if (consumed[i]){
+                    continue;
+                }
+
+                int clr = pixels[i];
+                switch (clr) {
+                    case Block.TYPE_SPAWN:
+                        data.setSpawn(x, y);
+                        consumed[i] = true;
+                        break;
+                    case Block.TYPE_BREAKABLE:
+                        data.addRect(x, y, 1, 1, clr);
+                        consumed[i] = true;
+                        break;
+                    case Block.TYPE_HOLE:
+                    case Block.TYPE_GOAL:
+                    case Block.TYPE_OBSTACLE:
+                        decomposition.createRects(pixels, consumed, width, height, x, y, clr, data);
+                        break;
+                }
+            }
+        }
+
+        return data;
+    }
+}
@@ -0,0 +1,114 @@
+package com.imt3673.project.Objects;
+
+import java.util.Arrays;
+
+/**
+ * The layout of a level in level pixel units: its size, spawn point and block rectangles.
+ * Independent of screen size, Level scales it to world coordinates when building.
+ * Rectangles are packed into an int array, RECT_STRIDE ints per rectangle.
+ */
+public class LevelData {
+    public static final int RECT_STRIDE = 5; //x, y, width, height, type
+
+    private final int width;
+    private final int height;
+    private int spawnX = -1;
+    private int spawnY = -1;
+    private int[] rects;
+    private int rectCount;
+
+    /**
+     * Creates empty level data
+     * @param width width of level in pixels
+     * @param height height of level in pixels
+     */
+    public LevelData(int width, int height){
+        this.width = width;
+        this.height = height;
+        this.rects = new int[RECT_STRIDE * 16];
+    }
+
+    /**
+     * Adds a block rectangle
+     * @param x x coordinate of rect start
+     * @param y y coordinate of rect start
+     * @param w width
+     * @param h height
+     * @param type type of the block
+     */
+    public void addRect(int x, int y, int w, int h, int type){
+        if ((rectCount + 1) * RECT_STRIDE > rects.length){
+            rects = Arrays.copyOf(rects, rects.length * 2);
+        }
+
+        int i = rectCount * RECT_STRIDE;
+        rects[i] = x;
+        rects[i + 1] = y;
+        rects[i + 2] = w;
+        rects[i + 3] = h;
+        rects[i + 4] = type;
+        rectCount++;
+    }
+
+    /**
+     * Sets the spawn point
+     * @param x x coordinate
+     * @param y y coordinate
+     */
+    public void setSpawn(int x, int y){
+        spawnX = x;
+        spawnY = y;
+    }
+
+    public int getWidth(){
+        return width;
+    }
+
+    public int getHeight(){
+        return height;
+    }
+
+    /**
+     * Gets the spawn point x, -1 if the level has no spawn point
+     * @return int spawnX
+     */
+    public int getSpawnX(){
+        return spawnX;
+    }
+
+    /**
+     * Gets the spawn point y, -1 if the level has no spawn point
+     * @return int spawnY
+     */
+    public int getSpawnY(){
+        return spawnY;
+    }
+
+    /**
+     * Gets the number of rectangles
+     * @return int rectCount
+     */
+    public int getRectCount(){
+        return rectCount;
+    }
+
+    public int getRectX(int i){
+        return rects[i * RECT_STRIDE];
+    }
+
+    public int getRectY(int i){
+        return rects[i * RECT_STRIDE + 1];
+    }
+
+    public int getRectWidth(int i){
+        return rects[i * RECT_STRIDE + 2];
+    }
+
+    public int getRectHeight(int i){
+        return rects[i * RECT_STRIDE + 3];
+    }
+
+    public int getRectType(int i){
+        return rects[i * RECT_STRIDE + 4];
+    }
+}
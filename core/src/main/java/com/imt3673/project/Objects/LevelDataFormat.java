@@ -0,0 +1,77 @@
+package com.imt3673.project.Objects;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact binary format for LevelData, used to cache built levels on disk.
+ *
+ * Layout (big endian ints):
+ * magic, version, source hash (long), width, height, spawnX, spawnY, rect count,
+ * then RECT_STRIDE ints per rect (x, y, width, height, type).
+ *
+ * Bump VERSION whenever the layout or the way rectangles are built changes, old files are then rebuilt.
+ */
+public class LevelDataFormat {
+    public static final int MAGIC = 0x47424C56; //"GBLV"
+    public static final int VERSION = 1;
+
+    /**
+     * Writes level data
+     * @param data level data to write
+     * @param sourceHash hash of the image the data was built from
+     * @param out stream to write to, not closed
+     * @throws IOException if writing fails
+     */
+    public static void write(LevelData data, long sourceHash, OutputStream out) throws IOException {
+        DataOutputStream stream = new DataOutputStream(out);
+        stream.writeInt(MAGIC);
+        stream.writeInt(VERSION);
+        stream.writeLong(sourceHash);
+        stream.writeInt(data.getWidth());
+        stream.writeInt(data.getHeight());
+        stream.writeInt(data.getSpawnX());
+        stream.writeInt(data.getSpawnY());
+        stream.writeInt(data.getRectCount());
+        for (int i = 0; i < data.getRectCount(); i++){
+            stream.writeInt(data.getRectX(i));
+            stream.writeInt(data.getRectY(i));
+            stream.writeInt(data.getRectWidth(i));
+            stream.writeInt(data.getRectHeight(i));
+            stream.writeInt(data.getRectType(i));
+        }
+        stream.flush();
+    }
+
+    /**
+     * Reads level data, eg. from a memory mapped file
+     * @param buffer buffer positioned at the start of the data
+     * @param sourceHash hash of the image the data must have been built from
+     * @return LevelData the level, or null if the data is from another version or another image
+     */
+    public static LevelData read(ByteBuffer buffer, long sourceHash){
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < 36 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != sourceHash){
+            return null;
+        }
+
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int spawnX = buffer.getInt();
+        int spawnY = buffer.getInt();
+        int rectCount = buffer.getInt();
+        if (rectCount < 0 || buffer.remaining() < rectCount * LevelData.RECT_STRIDE * 4){
+            return null; //Truncated file
+        }
+
+        LevelData data = new LevelData(width, height);
+        data.setSpawn(spawnX, spawnY);
+        for (int i = 0; i < rectCount; i++){
+            data.addRect(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+        }
+        return data;
+    }
+}
@@ -0,0 +1,377 @@
+package com.imt3673.project.Objects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Splits each connected region into the minimum number of rects.
+ *
+ * A region needs one cut per concave corner, except that a chord joining two concave corners
+ * resolves both at once. The largest set of chords that do not cross is found with a bipartite
+ * matching between horizontal and vertical chords (Koenig's theorem). Those chords are cut first,
+ * then every remaining concave corner is cut horizontally until it meets the boundary or another cut.
+ * The pieces left over are the rects.
+ */
+public class OptimalDecomposition implements RectDecomposition {
+
+    @Override
+    public void createRects(int[] pixels, boolean[] consumed, int width, int height, int startX, int startY, int type, LevelData data){
+        int[] region = new int[16];
+        int size = 0;
+        int minX = startX, minY = startY, maxX = startX, maxY = startY;
+
+        //Flood fill the region and consume it
+        consumed[startY * width + startX] = true;
+        region[size++] = startY * width + startX;
+        for (int head = 0; head < size; head++){
+            int i = region[head];
+            int x = i % width;
+            int y = i / width;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+
+            if (size + 4 > region.length){
+                region = Arrays.copyOf(region, region.length * 2);
+            }
+            if (x > 0 && matches(pixels, consumed, i - 1, type)){
+                consumed[i - 1] = true;
+                region[size++] = i - 1;
+            }
+            if (x < width - 1 && matches(pixels, consumed, i + 1, type)){
+                consumed[i + 1] = true;
+                region[size++] = i + 1;
+            }
+            if (y > 0 && matches(pixels, consumed, i - width, type)){
+                consumed[i - width] = true;
+                region[size++] = i - width;
+            }
+            if (y < height - 1 && matches(pixels, consumed, i + width, type)){
+                consumed[i + width] = true;
+                region[size++] = i + width;
+            }
+        }
+
+        if (size == 1){
+            data.addRect(startX, startY, 1, 1, type);
+            return;
+        }
+
+        Region mask = new Region(maxX - minX + 1, maxY - minY + 1);
+        for (int n = 0; n < size; n++){
+            mask.pixels[(region[n] / width - minY) * mask.width + region[n] % width - minX] = true;
+        }
+
+        mask.cut();
+        mask.addRects(data, minX, minY, type);
+    }
+
+    private static boolean matches(int[] pixels, boolean[] consumed, int i, int type){
+        return pixels[i] == type && !consumed[i];
+    }
+
+    /**
+     * One connected region in its bounding box.
+     * Points are pixel corners, (0, 0) to (width, height). Cuts are stored per unit segment,
+     * cutH[y * width + x] is the segment from point (x, y) to (x + 1, y),
+     * cutV[y * (width + 1) + x] is the segment from point (x, y) to (x, y + 1).
+     */
+    private static class Region {
+        final int width;
+        final int height;
+        final boolean[] pixels;
+        final boolean[] cutH;
+        final boolean[] cutV;
+
+        Region(int width, int height){
+            this.width = width;
+            this.height = height;
+            pixels = new boolean[width * height];
+            cutH = new boolean[width * (height + 1)];
+            cutV = new boolean[(width + 1) * height];
+        }
+
+        boolean in(int x, int y){
+            return x >= 0 && y >= 0 && x < width && y < height && pixels[y * width + x];
+        }
+
+        /**
+         * @return whether point (x, y) is a concave corner, three of the four pixels around it are in the region
+         */
+        boolean concave(int x, int y){
+            int count = 0;
+            if (in(x - 1, y - 1)) count++;
+            if (in(x, y - 1)) count++;
+            if (in(x - 1, y)) count++;
+            if (in(x, y)) count++;
+            return count == 3;
+        }
+
+        /**
+         * @return whether point (x, y) is inside the region, all four pixels around it are in the region
+         */
+        boolean inside(int x, int y){
+            return in(x - 1, y - 1) && in(x, y - 1) && in(x - 1, y) && in(x, y);
+        }
+
+        /**
+         * @return the direction (-1 or 1) a horizontal cut from concave corner (x, y) goes, away from the missing pixel
+         */
+        int cutDirectionX(int x, int y){
+            return in(x - 1, y - 1) && in(x - 1, y) ? -1 : 1;
+        }
+
+        /**
+         * @return the direction (-1 or 1) a vertical cut from concave corner (x, y) goes, away from the missing pixel
+         */
+        int cutDirectionY(int x, int y){
+            return in(x - 1, y - 1) && in(x, y - 1) ? -1 : 1;
+        }
+
+        /**
+         * Cuts the region into rects
+         */
+        void cut(){
+            ArrayList<int[]> horizontal = new ArrayList<>(); //{y, x1, x2}
+            ArrayList<int[]> vertical = new ArrayList<>();   //{x, y1, y2}
+
+            //Chords between concave corners, a chord only runs through points inside the region
+            for (int y = 1; y < height; y++){
+                for (int x = 1; x < width; x++){
+                    if (!concave(x, y) || cutDirectionX(x, y) < 0){
+                        continue;
+                    }
+                    int end = x + 1;
+                    while (end < width && inside(end, y)){
+                        end++;
+                    }
+                    if (in(end - 1, y - 1) && in(end - 1, y) && concave(end, y) && cutDirectionX(end, y) < 0){
+                        horizontal.add(new int[]{y, x, end});
+                    }
+                }
+            }
+            for (int x = 1; x < width; x++){
+                for (int y = 1; y < height; y++){
+                    if (!concave(x, y) || cutDirectionY(x, y) < 0){
+                        continue;
+                    }
+                    int end = y + 1;
+                    while (end < height && inside(x, end)){
+                        end++;
+                    }
+                    if (in(x - 1, end - 1) && in(x, end - 1) && concave(x, end) && cutDirectionY(x, end) < 0){
+                        vertical.add(new int[]{x, y, end});
+                    }
+                }
+            }
+
+            for (int[] chord : independentChords(horizontal, vertical, true)){
+                for (int x = chord[1]; x < chord[2]; x++){
+                    cutH[chord[0] * width + x] = true;
+                }
+            }
+            for (int[] chord : independentChords(horizontal, vertical, false)){
+                for (int y = chord[1]; y < chord[2]; y++){
+                    cutV[y * (width + 1) + chord[0]] = true;
+                }
+            }
+
+            //Every concave corner not resolved by a chord gets its own cut
+            for (int y = 1; y < height; y++){
+                for (int x = 1; x < width; x++){
+                    if (!concave(x, y) || resolved(x, y)){
+                        continue;
+                    }
+                    int dx = cutDirectionX(x, y);
+                    int px = x;
+                    do {
+                        cutH[y * width + (dx > 0 ? px : px - 1)] = true;
+                        px += dx;
+                    } while (inside(px, y) && !touchesCut(px, y, dx));
+                }
+            }
+        }
+
+        /**
+         * @return whether concave corner (x, y) already has a cut leaving it into the region
+         */
+        boolean resolved(int x, int y){
+            int dx = cutDirectionX(x, y);
+            int dy = cutDirectionY(x, y);
+            return cutH[y * width + (dx > 0 ? x : x - 1)] || cutV[(dy > 0 ? y : y - 1) * (width + 1) + x];
+        }
+
+        /**
+         * @return whether another cut touches the inside point (x, y), reached by a horizontal cut going in direction dx
+         */
+        boolean touchesCut(int x, int y, int dx){
+            return cutH[y * width + (dx > 0 ? x : x - 1)] || cutV[(y - 1) * (width + 1) + x] || cutV[y * (width + 1) + x];
+        }
+
+        /**
+         * Finds the largest set of chords where no horizontal chord touches a vertical one.
+         * Chords of the same direction never touch, so this is the maximum independent set of a
+         * bipartite graph, the chords not in the minimum vertex cover of a maximum matching.
+         * @param horizontal horizontal chords
+         * @param vertical vertical chords
+         * @param pickHorizontal whether to return the horizontal or the vertical chords of the set
+         * @return the chosen chords of one direction
+         */
+        ArrayList<int[]> independentChords(ArrayList<int[]> horizontal, ArrayList<int[]> vertical, boolean pickHorizontal){
+            int h = horizontal.size();
+            int v = vertical.size();
+            //Vertical chords bucketed by column, so each horizontal chord only looks at the columns it spans
+            int[] columnStart = new int[width + 2];
+            for (int[] b : vertical){
+                columnStart[b[0] + 1]++;
+            }
+            for (int x = 0; x <= width; x++){
+                columnStart[x + 1] += columnStart[x];
+            }
+            int[] byColumn = new int[v];
+            int[] fill = Arrays.copyOf(columnStart, width + 1);
+            for (int j = 0; j < v; j++){
+                byColumn[fill[vertical.get(j)[0]]++] = j;
+            }
+
+            int[][] edges = new int[h][];
+            int[] list = new int[4];
+            for (int i = 0; i < h; i++){
+                int[] a = horizontal.get(i);
+                int count = 0;
+                for (int n = columnStart[a[1]]; n < columnStart[a[2] + 1]; n++){
+                    int j = byColumn[n];
+                    int[] b = vertical.get(j);
+                    if (a[0] >= b[1] && a[0] <= b[2]){
+                        if (count == list.length){
+                            list = Arrays.copyOf(list, count * 2);
+                        }
+                        list[count++] = j;
+                    }
+                }
+                edges[i] = Arrays.copyOf(list, count);
+            }
+
+            //Maximum matching with augmenting paths
+            int[] matchH = new int[h];
+            int[] matchV = new int[v];
+            Arrays.fill(matchH, -1);
+            Arrays.fill(matchV, -1);
+            int[] seen = new int[v];
+            int[] pathH = new int[h + 1];
+            int[] pathEdge = new int[h + 1];
+            for (int i = 0; i < h; i++){
+                augment(i, i + 1, edges, matchH, matchV, seen, pathH, pathEdge);
+            }
+
+            //Koenig: vertices reachable from unmatched horizontal chords along alternating paths
+            boolean[] reachedH = new boolean[h];
+            boolean[] reachedV = new boolean[v];
+            int[] stack = new int[h];
+            int top = 0;
+            for (int i = 0; i < h; i++){
+                if (matchH[i] < 0){
+                    reachedH[i] = true;
+                    stack[top++] = i;
+                }
+            }
+            while (top > 0){
+                int i = stack[--top];
+                for (int j : edges[i]){
+                    if (!reachedV[j]){
+                        reachedV[j] = true;
+                        int next = matchV[j];
+                        if (next >= 0 && !reachedH[next]){
+                            reachedH[next] = true;
+                            stack[top++] = next;
+                        }
+                    }
+                }
+            }
+
+            //Independent set: reached horizontal chords and unreached vertical chords
+            ArrayList<int[]> result = new ArrayList<>();
+            if (pickHorizontal){
+                for (int i = 0; i < h; i++){
+                    if (reachedH[i]) result.add(horizontal.get(i));
+                }
+            } else {
+                for (int j = 0; j < v; j++){
+                    if (!reachedV[j]) result.add(vertical.get(j));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Looks for an augmenting path from a horizontal chord, without recursion
+         * @return whether the matching grew
+         */
+        static boolean augment(int root, int mark, int[][] edges, int[] matchH, int[] matchV, int[] seen, int[] pathH, int[] pathEdge){
+            int depth = 0;
+            pathH[0] = root;
+            pathEdge[0] = 0;
+
+            while (depth >= 0){
+                int i = pathH[depth];
+                if (pathEdge[depth] >= edges[i].length){
+                    depth--;
+                    continue;
+                }
+                int j = edges[i][pathEdge[depth]++];
+                if (seen[j] == mark){
+                    continue;
+                }
+                seen[j] = mark;
+
+                if (matchV[j] < 0){ //Free vertical chord, flip the path
+                    for (int d = depth; d >= 0; d--){
+                        int hi = pathH[d];
+                        int vj = edges[hi][pathEdge[d] - 1];
+                        matchH[hi] = vj;
+                        matchV[vj] = hi;
+                    }
+                    return true;
+                }
+                depth++;
+                pathH[depth] = matchV[j];
+                pathEdge[depth] = 0;
+            }
+            return false;
+        }
+
+        /**
+         * Adds the pieces between the cuts as rects
+         * @param data level data to add the rects to
+         * @param offsetX x of the bounding box in the level
+         * @param offsetY y of the bounding box in the level
+         * @param type type of the block
+         */
+        void addRects(LevelData data, int offsetX, int offsetY, int type){
+            boolean[] done = new boolean[width * height];
+            for (int x = 0; x < width; x++){
+                for (int y = 0; y < height; y++){
+                    if (!pixels[y * width + x] || done[y * width + x]){
+                        continue;
+                    }
+
+                    int w = 1;
+                    while (x + w < width && pixels[y * width + x + w] && !cutV[y * (width + 1) + x + w]){
+                        w++;
+                    }
+                    int h = 1;
+                    while (y + h < height && pixels[(y + h) * width + x] && !cutH[(y + h) * width + x]){
+                        h++;
+                    }
+                    for (int py = y; py < y + h; py++){
+                        for (int px = x; px < x + w; px++){
+                            done[py * width + px] = true;
+                        }
+                    }
+                    data.addRect(x + offsetX, y + offsetY, w, h, type);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.imt3673.project.Objects;
+
+/**
+ * Created by Muffinz on 12/04/2018.
+ */
+public class Physics {
+    public static final float NO_HIT = Float.POSITIVE_INFINITY; //Returned by BallBlockSweep when the ball misses
+
+    /**
+     * Circle/Rectangle collision.
+     * Based on answer by e.James in thread:
+     * https://stackoverflow.com/questions/401847/circle-rectangle-collision-detection-intersection
+     * @param ball ball
+     * @param rect rect
+     * @return true if collision
+     */
+    public static boolean BallBlockCollision(Ball ball, Rect rect){
+        return BallBlockCollision(ball.getPosition().x, ball.getPosition().y, ball.getRadius(),
+                rect.centerX(), rect.centerY(), rect.width() / 2, rect.height() / 2);
+    }
+
+    /**
+     * Circle/Rectangle collision on packed values, see BallBlockCollision(Ball, Rect)
+     * @param x x of circle centre
+     * @param y y of circle centre
+     * @param radius radius of circle
+     * @param centerX x of rect centre
+     * @param centerY y of rect centre
+     * @param halfWidth half of rect width
+     * @param halfHeight half of rect height
+     * @return true if collision
+     */
+    public static boolean BallBlockCollision(float x, float y, float radius, float centerX, float centerY, float halfWidth, float halfHeight){
+        //Kept in locals so the test does not allocate, it runs for every candidate block
+        float distanceX = Math.abs(x - centerX);
+        float distanceY = Math.abs(y - centerY);
+
+        if (distanceX > (halfWidth + radius)) { return false; }
+        if (distanceY > (halfHeight + radius)) { return false; }
+
+        if (distanceX <= halfWidth) { return true; }
+        if (distanceY <= halfHeight) { return true; }
+
+        float cornerX = distanceX - halfWidth;
+        float cornerY = distanceY - halfHeight;
+        float cornerDistance_sq = cornerX * cornerX + cornerY * cornerY;
+
+        return (cornerDistance_sq <= radius * radius);
+    }
+
+    /**
+     * Swept circle/Rectangle collision for a ball moving along one axis.
+     * The rectangle is grown by the radius (rounded at the corners), then the ball centre
+     * is tested as a point moving from 'from' to 'to', so a fast ball can not pass through a thin block.
+     * A ball that only touches the block, or that overlaps it and moves out of it, does not hit it.
+     * @param ball ball, its position on the other axis is used
+     * @param axis axis the ball moves along, 0 for x and 1 for y
+     * @param from start of the movement along the axis
+     * @param to end of the movement along the axis
+     * @param rect rect
+     * @return time of impact from 0 (at 'from') to 1 (at 'to'), or NO_HIT
+     */
+    public static float BallBlockSweep(Ball ball, int axis, float from, float to, Rect rect){
+        if (axis == 0) {
+            return BallBlockSweep(ball.getRadius(), ball.getPosition().y, rect.top, rect.bottom, rect.left, rect.right, from, to);
+        }
+        return BallBlockSweep(ball.getRadius(), ball.getPosition().x, rect.left, rect.right, rect.top, rect.bottom, from, to);
+    }
+
+    /**
+     * Swept circle/Rectangle collision on packed values, see BallBlockSweep(Ball, int, float, float, Rect)
+     * @param radius radius of circle
+     * @param other position of circle centre on the other axis
+     * @param otherMin start of rect on the other axis
+     * @param otherMax end of rect on the other axis
+     * @param min start of rect along the movement
+     * @param max end of rect along the movement
+     * @param from start of the movement
+     * @param to end of the movement
+     * @return time of impact from 0 (at 'from') to 1 (at 'to'), or NO_HIT
+     */
+    public static float BallBlockSweep(float radius, float other, float otherMin, float otherMax, float min, float max, float from, float to){
+        //How far the ball centre is from the rect across the movement
+        float distance = Math.max(0, Math.max(otherMin - other, other - otherMax));
+        if (distance >= radius) { return NO_HIT; }
+
+        //Extent of the grown rect along the movement, narrower where the ball passes a corner
+        float reach = (distance == 0) ? radius : (float)Math.sqrt(radius * radius - distance * distance);
+        min -= reach;
+        max += reach;
+
+        if (from > min && from < max) { //Already overlapping, only a hit if it does not get out
+            return (to > min && to < max) ? 0 : NO_HIT;
+        }
+
+        if (to > from && from <= min && to > min) { return (min - from) / (to - from); }
+        if (to < from && from >= max && to < max) { return (from - max) / (from - to); }
+        return NO_HIT;
+    }
+
+    /**
+     * Circle/Rectangle contact: how deep the circle is in the rect, and which way to push it out.
+     * The normal points from the closest point of the rect to the circle centre,
+     * or out through the nearest edge if the centre is inside the rect.
+     * @param x x of circle centre
+     * @param y y of circle centre
+     * @param radius radius of circle
+     * @param minX left of rect
+     * @param minY top of rect
+     * @param maxX right of rect
+     * @param maxY bottom of rect
+     * @param normal gets the x and y of the normal, only written on contact
+     * @return depth of the contact, 0 if the circle does not overlap the rect
+     */
+    public static float BallBlockContact(float x, float y, float radius, float minX, float minY, float maxX, float maxY, float[] normal){
+        float closestX = Math.max(minX, Math.min(x, maxX));
+        float closestY = Math.max(minY, Math.min(y, maxY));
+        float distanceX = x - closestX;
+        float distanceY = y - closestY;
+        float distanceSq = distanceX * distanceX + distanceY * distanceY;
+        if (distanceSq >= radius * radius) { return 0; }
+
+        if (distanceSq > 0) {
+            float distance = (float)Math.sqrt(distanceSq);
+            normal[0] = distanceX / distance;
+            normal[1] = distanceY / distance;
+            return radius - distance;
+        }
+
+        //Centre inside the rect, out through the nearest edge
+        float left = x - minX;
+        float right = maxX - x;
+        float top = y - minY;
+        float bottom = maxY - y;
+        float nearest = Math.min(Math.min(left, right), Math.min(top, bottom));
+        normal[0] = (nearest == left) ? -1 : (nearest == right) ? 1 : 0;
+        normal[1] = (normal[0] != 0) ? 0 : (nearest == top) ? -1 : 1;
+        return radius + nearest;
+    }
+}
@@ -0,0 +1,22 @@
+package com.imt3673.project.Objects;
+
+/**
+ * A grid of ARGB pixels a level is built from, eg. a decoded level PNG.
+ */
+public interface PixelSource {
+    /**
+     * @return width in pixels
+     */
+    int getWidth();
+
+    /**
+     * @return height in pixels
+     */
+    int getHeight();
+
+    /**
+     * Copies every pixel into an array, row by row
+     * @param pixels array of at least width * height
+     */
+    void getPixels(int[] pixels);
+}
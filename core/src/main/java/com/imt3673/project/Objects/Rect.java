@@ -0,0 +1,92 @@
+package com.imt3673.project.Objects;
+
+/**
+ * An axis aligned rectangle in world coordinates.
+ * Plays the part android.graphics.RectF used to, so the simulation does not depend on Android.
+ */
+public class Rect {
+    public float left;
+    public float top;
+    public float right;
+    public float bottom;
+
+    /**
+     * Creates an empty rectangle
+     */
+    public Rect(){
+    }
+
+    /**
+     * Creates a rectangle from its edges
+     * @param left left edge
+     * @param top top edge
+     * @param right right edge
+     * @param bottom bottom edge
+     */
+    public Rect(float left, float top, float right, float bottom){
+        set(left, top, right, bottom);
+    }
+
+    /**
+     * Sets the edges of the rectangle
+     * @param left left edge
+     * @param top top edge
+     * @param right right edge
+     * @param bottom bottom edge
+     */
+    public void set(float left, float top, float right, float bottom){
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    /**
+     * Gets the width
+     * @return float width
+     */
+    public float width(){
+        return right - left;
+    }
+
+    /**
+     * Gets the height
+     * @return float height
+     */
+    public float height(){
+        return bottom - top;
+    }
+
+    /**
+     * Gets the horizontal center
+     * @return float center x
+     */
+    public float centerX(){
+        return (left + right) * 0.5f;
+    }
+
+    /**
+     * Gets the vertical center
+     * @return float center y
+     */
+    public float centerY(){
+        return (top + bottom) * 0.5f;
+    }
+
+    /**
+     * Checks if the rectangle overlaps another one, touching edges do not count
+     * @param left left edge of the other rectangle
+     * @param top top edge of the other rectangle
+     * @param right right edge of the other rectangle
+     * @param bottom bottom edge of the other rectangle
+     * @return true if they overlap
+     */
+    public boolean intersects(float left, float top, float right, float bottom){
+        return this.left < right && left < this.right && this.top < bottom && top < this.bottom;
+    }
+
+    @Override
+    public String toString(){
+        return "Rect(" + left + ", " + top + ", " + right + ", " + bottom + ")";
+    }
+}
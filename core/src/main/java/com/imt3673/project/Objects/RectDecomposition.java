@@ -0,0 +1,23 @@
+package com.imt3673.project.Objects;
+
+/**
+ * Strategy for splitting the walls, holes and goals of a level image into block rectangles.
+ * Fewer rectangles means fewer draw calls and fewer collision tests.
+ */
+public interface RectDecomposition {
+
+    /**
+     * Called by LevelBuilder for the first unconsumed pixel of a region, in column major order.
+     * Adds rects covering at least that pixel and marks every covered pixel as consumed.
+     * Only pixels of the given type that are not already consumed may be covered.
+     * @param pixels level pixels, row by row
+     * @param consumed pixels already part of a rect
+     * @param width width of level
+     * @param height height of level
+     * @param startX x coordinate of the first pixel
+     * @param startY y coordinate of the first pixel
+     * @param type type of the block
+     * @param data level data to add the rects to
+     */
+    void createRects(int[] pixels, boolean[] consumed, int width, int height, int startX, int startY, int type, LevelData data);
+}
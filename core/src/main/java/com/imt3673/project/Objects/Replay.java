@@ -0,0 +1,96 @@
+package com.imt3673.project.Objects;
+
+/**
+ * A recorded run: the level, the screen height it was played at, the tick rate
+ * and the acceleration sample every physics tick used.
+ * Samples are only stored for the ticks where the sample changed, a sample applies
+ * to its tick and every following tick until the next one.
+ * Ticks before the first sample are ticks where the ball was waiting for the sensor.
+ */
+public class Replay {
+    private final LevelData level;
+    private final int phoneHeight;
+    private final int tickRate;
+    private final int tickCount;
+    private final int[] sampleTicks;
+    private final float[] sampleValues; //xyz per sample
+    private final int sampleCount;
+
+    /**
+     * Creates a replay, the arrays are used as is
+     * @param level level layout
+     * @param phoneHeight height of canvas the run was played at
+     * @param tickRate physics ticks per second
+     * @param tickCount number of ticks in the run
+     * @param sampleTicks tick each sample starts at, in increasing order
+     * @param sampleValues xyz acceleration per sample
+     * @param sampleCount number of samples
+     */
+    public Replay(LevelData level, int phoneHeight, int tickRate, int tickCount, int[] sampleTicks, float[] sampleValues, int sampleCount){
+        this.level = level;
+        this.phoneHeight = phoneHeight;
+        this.tickRate = tickRate;
+        this.tickCount = tickCount;
+        this.sampleTicks = sampleTicks;
+        this.sampleValues = sampleValues;
+        this.sampleCount = sampleCount;
+    }
+
+    /**
+     * Gets the level layout
+     * @return LevelData level
+     */
+    public LevelData getLevel(){
+        return level;
+    }
+
+    /**
+     * Gets the height of the canvas the run was played at
+     * @return int phoneHeight
+     */
+    public int getPhoneHeight(){
+        return phoneHeight;
+    }
+
+    /**
+     * Gets the physics tick rate
+     * @return int ticks per second
+     */
+    public int getTickRate(){
+        return tickRate;
+    }
+
+    /**
+     * Gets the number of ticks in the run
+     * @return int tickCount
+     */
+    public int getTickCount(){
+        return tickCount;
+    }
+
+    /**
+     * Gets the number of samples
+     * @return int sampleCount
+     */
+    public int getSampleCount(){
+        return sampleCount;
+    }
+
+    /**
+     * Gets the tick a sample starts at
+     * @param index sample index
+     * @return int tick
+     */
+    public int getSampleTick(int index){
+        return sampleTicks[index];
+    }
+
+    /**
+     * Copies a sample
+     * @param index sample index
+     * @param out array to copy the xyz acceleration to
+     */
+    public void getSample(int index, float[] out){
+        System.arraycopy(sampleValues, index * 3, out, 0, 3);
+    }
+}
@@ -0,0 +1,88 @@
+package com.imt3673.project.Objects;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact binary format for a Replay.
+ *
+ * Layout (big endian):
+ * magic, version, phone height, tick rate, tick count, sample count,
+ * then per sample the tick it starts at (int) and the xyz acceleration (3 floats),
+ * then the level in LevelDataFormat with a source hash of 0.
+ *
+ * Bump VERSION whenever the layout changes, old files are then rejected.
+ */
+public class ReplayFormat {
+    public static final int MAGIC = 0x47425250; //"GBRP"
+    public static final int VERSION = 1;
+
+    private static final int SAMPLE_BYTES = 16;
+
+    /**
+     * Writes a replay
+     * @param replay replay to write
+     * @param out stream to write to, not closed
+     * @throws IOException if writing fails
+     */
+    public static void write(Replay replay, OutputStream out) throws IOException {
+        DataOutputStream stream = new DataOutputStream(out);
+        stream.writeInt(MAGIC);
+        stream.writeInt(VERSION);
+        stream.writeInt(replay.getPhoneHeight());
+        stream.writeInt(replay.getTickRate());
+        stream.writeInt(replay.getTickCount());
+        stream.writeInt(replay.getSampleCount());
+
+        float[] sample = new float[3];
+        for (int i = 0; i < replay.getSampleCount(); i++){
+            replay.getSample(i, sample);
+            stream.writeInt(replay.getSampleTick(i));
+            stream.writeFloat(sample[0]);
+            stream.writeFloat(sample[1]);
+            stream.writeFloat(sample[2]);
+        }
+        stream.flush();
+
+        LevelDataFormat.write(replay.getLevel(), 0, out);
+    }
+
+    /**
+     * Reads a replay
+     * @param buffer buffer positioned at the start of the replay
+     * @return Replay the replay, or null if the data is from another version or truncated
+     */
+    public static Replay read(ByteBuffer buffer){
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < 24 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION){
+            return null;
+        }
+
+        int phoneHeight = buffer.getInt();
+        int tickRate = buffer.getInt();
+        int tickCount = buffer.getInt();
+        int sampleCount = buffer.getInt();
+        if (tickRate <= 0 || sampleCount < 0 || buffer.remaining() < sampleCount * SAMPLE_BYTES){
+            return null; //Truncated or damaged file
+        }
+
+        int[] sampleTicks = new int[sampleCount];
+        float[] sampleValues = new float[sampleCount * 3];
+        for (int i = 0; i < sampleCount; i++){
+            sampleTicks[i] = buffer.getInt();
+            sampleValues[i * 3] = buffer.getFloat();
+            sampleValues[i * 3 + 1] = buffer.getFloat();
+            sampleValues[i * 3 + 2] = buffer.getFloat();
+        }
+
+        LevelData level = LevelDataFormat.read(buffer, 0);
+        if (level == null){
+            return null;
+        }
+
+        return new Replay(level, phoneHeight, tickRate, tickCount, sampleTicks, sampleValues, sampleCount);
+    }
+}
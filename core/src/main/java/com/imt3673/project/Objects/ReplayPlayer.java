@@ -0,0 +1,231 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Replays a recorded run headless, as fast as possible and without rendering.
+ * Steps the level and ball the same way GameLoop does, so a replay must end in the same state
+ * as the run it was recorded from. Used as a repeatable load test, and to check that
+ * a physics change does not change outcomes: the state hash must stay the same.
+ *
+ * Run from the command line with: ./gradlew :core:replay -Preplay=file.replay[,more.replay]
+ * Add -PdistanceField to skip wall tests in open space with a distance field of the walls,
+ * the state hash must be the same as without it.
+ * Add -PcontactSolver to solve collisions with Ball.SOLVER_CONTACTS, that changes outcomes,
+ * so its hash is only comparable with other contact solver runs.
+ */
+public class ReplayPlayer {
+    private static final int DEFAULT_ROUNDS = 5;
+
+    /**
+     * Outcome of a replay
+     */
+    public static class Result {
+        public int ticks; //Ticks that were stepped, fewer than recorded if the goal was reached early
+        public long elapsedNanos;
+        public long collisionTests;
+        public long substeps;
+        public long cappedTicks; //Ticks that needed more sub-steps than the ball allows
+        public long neighbourHits;
+        public long neighbourRebuilds;
+        public long fieldLookups;
+        public long fieldSkips;
+        public boolean goalReached;
+        public long stateHash;
+
+        /**
+         * Gets the simulation speed
+         * @return double ticks per second
+         */
+        public double ticksPerSecond(){
+            return (elapsedNanos > 0) ? ticks * 1e9 / elapsedNanos : 0;
+        }
+
+        /**
+         * Gets the average number of ball-block collision tests per tick
+         * @return double collision tests per tick
+         */
+        public double collisionTestsPerTick(){
+            return (ticks > 0) ? (double)collisionTests / ticks : 0;
+        }
+
+        /**
+         * Gets the average number of ball sub-steps per tick
+         * @return double sub-steps per tick
+         */
+        public double substepsPerTick(){
+            return (ticks > 0) ? (double)substeps / ticks : 0;
+        }
+
+        /**
+         * Gets the share of collision queries the ball answered from its neighbour list
+         * @return double hit rate from 0 to 1
+         */
+        public double neighbourHitRate(){
+            long queries = neighbourHits + neighbourRebuilds;
+            return (queries > 0) ? (double)neighbourHits / queries : 0;
+        }
+
+        /**
+         * Gets the average number of distance field lookups per tick
+         * @return double field lookups per tick
+         */
+        public double fieldLookupsPerTick(){
+            return (ticks > 0) ? (double)fieldLookups / ticks : 0;
+        }
+
+        @Override
+        public String toString(){
+            return String.format("%d ticks, %.0f ticks/s, %.2f collision tests/tick, %.2f field lookups/tick, %.2f sub-steps/tick, %d capped, %.1f%% neighbour hits, goal %s, state hash %016x",
+                    ticks, ticksPerSecond(), collisionTestsPerTick(), fieldLookupsPerTick(), substepsPerTick(), cappedTicks, neighbourHitRate() * 100,
+                    goalReached ? "reached" : "not reached", stateHash);
+        }
+    }
+
+    /**
+     * Replays a run
+     * @param replay run to replay
+     * @return Result the outcome
+     */
+    public static Result play(Replay replay){
+        return play(replay, false, Ball.SOLVER_AXES);
+    }
+
+    /**
+     * Replays a run
+     * @param replay run to replay
+     * @param distanceField true to bake a distance field of the walls for the ball
+     * @param solver how the ball solves collisions, one of the Ball.SOLVER_ constants
+     * @return Result the outcome
+     */
+    public static Result play(Replay replay, boolean distanceField, int solver){
+        Level level = new Level();
+        level.buildFromData(replay.getLevel(), replay.getPhoneHeight(), distanceField);
+        Ball ball = new Ball(new Vector2(level.getSpawnPoint()), replay.getPhoneHeight());
+        ball.setSolver(solver);
+        BlockStore blocks = level.getBlockStore();
+
+        float step = 1.0f / replay.getTickRate();
+        float[] accel = new float[3];
+        boolean hasSample = false;
+        int nextSample = 0;
+
+        Result result = new Result();
+        long start = System.nanoTime();
+        while (result.ticks < replay.getTickCount() && !result.goalReached){
+            int tick = result.ticks++;
+            level.update(step);
+
+            if (nextSample < replay.getSampleCount() && replay.getSampleTick(nextSample) == tick){
+                replay.getSample(nextSample++, accel);
+                hasSample = true;
+            }
+            if (!hasSample){
+                continue;
+            }
+
+            BallCollision hit = ball.physicsUpdate(accel, step, blocks);
+            result.goalReached = (hit.blockType == Block.TYPE_GOAL); //The game stops on the goal
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        result.collisionTests = ball.getCollisionTests();
+        result.substeps = ball.getSubsteps();
+        result.cappedTicks = ball.getCappedSteps();
+        result.neighbourHits = ball.getNeighbourHits();
+        result.neighbourRebuilds = ball.getNeighbourRebuilds();
+        result.fieldLookups = ball.getFieldLookups();
+        result.fieldSkips = ball.getFieldSkips();
+        result.stateHash = stateHash(ball, level, result.ticks);
+        return result;
+    }
+
+    /**
+     * Hashes the state a run ended in, bit exact
+     * @param ball ball
+     * @param level level
+     * @param ticks ticks stepped
+     * @return long hash
+     */
+    public static long stateHash(Ball ball, Level level, int ticks){
+        long hash = 0xcbf29ce484222325L; //FNV-1a
+        hash = mix(hash, ticks);
+        hash = mix(hash, Float.floatToIntBits(ball.getPosition().x));
+        hash = mix(hash, Float.floatToIntBits(ball.getPosition().y));
+        hash = mix(hash, Float.floatToIntBits(ball.getVelocity().x));
+        hash = mix(hash, Float.floatToIntBits(ball.getVelocity().y));
+        hash = mix(hash, level.getTotalBlockCount());
+        hash = mix(hash, level.getBreakableBlocks().size());
+        hash = mix(hash, level.getBrokenBlocks().size());
+        return hash;
+    }
+
+    private static long mix(long hash, int value){
+        for (int i = 0; i < 4; i++){
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Replays the given files a few rounds each, the first rounds warm up the JIT
+     * @param args replay files, optionally followed by -field, -contacts and -rounds N
+     * @throws IOException if a file can not be read
+     */
+    public static void main(String[] args) throws IOException {
+        int rounds = DEFAULT_ROUNDS;
+        int fileCount = args.length;
+        if (fileCount >= 2 && args[fileCount - 2].equals("-rounds")){
+            rounds = Integer.parseInt(args[fileCount - 1]);
+            fileCount -= 2;
+        }
+        int solver = Ball.SOLVER_AXES;
+        if (fileCount >= 1 && args[fileCount - 1].equals("-contacts")){
+            solver = Ball.SOLVER_CONTACTS;
+            fileCount--;
+        }
+        boolean distanceField = false;
+        if (fileCount >= 1 && args[fileCount - 1].equals("-field")){
+            distanceField = true;
+            fileCount--;
+        }
+        if (fileCount == 0){
+            System.err.println("Usage: ReplayPlayer file.replay [more.replay ...] [-field] [-contacts] [-rounds N]");
+            System.exit(2);
+        }
+
+        boolean stable = true;
+        for (int i = 0; i < fileCount; i++){
+            Replay replay;
+            try (FileInputStream stream = new FileInputStream(args[i]); FileChannel channel = stream.getChannel()){
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                replay = ReplayFormat.read(buffer);
+            }
+            if (replay == null){
+                System.err.println(args[i] + ": not a replay of version " + ReplayFormat.VERSION);
+                stable = false;
+                continue;
+            }
+
+            Long previousHash = null;
+            for (int round = 0; round < rounds; round++){
+                Result result = play(replay, distanceField, solver);
+                System.out.println(args[i] + " round " + (round + 1) + ": " + result);
+                if (previousHash != null && previousHash != result.stateHash){
+                    System.err.println(args[i] + ": state hash changed between rounds");
+                    stable = false;
+                }
+                previousHash = result.stateHash;
+            }
+        }
+
+        if (!stable){
+            System.exit(1);
+        }
+    }
+}
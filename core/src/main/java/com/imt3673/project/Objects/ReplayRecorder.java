@@ -0,0 +1,104 @@
+package com.imt3673.project.Objects;
+
+import java.util.Arrays;
+
+/**
+ * Records the acceleration sample used by every physics tick, so the run can be replayed with ReplayPlayer.
+ * Only changed samples are stored. Recording stops when the run gets longer than the tick limit,
+ * so a game left running does not keep growing the log.
+ * Not thread safe, call it from the thread that steps the simulation.
+ */
+public class ReplayRecorder {
+    private final LevelData level;
+    private final int phoneHeight;
+    private final int tickRate;
+    private final int maxTicks;
+
+    private int tickCount;
+    private int[] sampleTicks = new int[256];
+    private float[] sampleValues = new float[256 * 3];
+    private int sampleCount;
+    private boolean overflowed;
+
+    /**
+     * @param level level layout
+     * @param phoneHeight height of canvas
+     * @param tickRate physics ticks per second
+     * @param maxTicks longest run to record, in ticks
+     */
+    public ReplayRecorder(LevelData level, int phoneHeight, int tickRate, int maxTicks){
+        this.level = level;
+        this.phoneHeight = phoneHeight;
+        this.tickRate = tickRate;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * Records a tick, call it once per tick before the ball is stepped
+     * @param accelData xyz acceleration the tick uses, null if there is no sample yet
+     */
+    public void tick(float[] accelData){
+        if (overflowed){
+            return;
+        }
+        if (tickCount == maxTicks){
+            overflowed = true;
+            return;
+        }
+
+        if (accelData != null && !isLastSample(accelData)){
+            if (sampleCount == sampleTicks.length){
+                sampleTicks = Arrays.copyOf(sampleTicks, sampleCount * 2);
+                sampleValues = Arrays.copyOf(sampleValues, sampleCount * 2 * 3);
+            }
+
+            sampleTicks[sampleCount] = tickCount;
+            System.arraycopy(accelData, 0, sampleValues, sampleCount * 3, 3);
+            sampleCount++;
+        }
+        tickCount++;
+    }
+
+    /**
+     * Gets the number of ticks recorded
+     * @return int tickCount
+     */
+    public int getTickCount(){
+        return tickCount;
+    }
+
+    /**
+     * Gets whether the run was too long and recording stopped
+     * @return boolean overflowed
+     */
+    public boolean isOverflowed(){
+        return overflowed;
+    }
+
+    /**
+     * Copies the recording so far
+     * @return Replay the run, or null if it was too long to record
+     */
+    public Replay toReplay(){
+        if (overflowed){
+            return null;
+        }
+
+        return new Replay(level, phoneHeight, tickRate, tickCount,
+                Arrays.copyOf(sampleTicks, sampleCount), Arrays.copyOf(sampleValues, sampleCount * 3), sampleCount);
+    }
+
+    /**
+     * Compares a sample to the last stored one, bit for bit
+     */
+    private boolean isLastSample(float[] accelData){
+        if (sampleCount == 0){
+            return false;
+        }
+
+        int i = (sampleCount - 1) * 3;
+        return Float.floatToIntBits(accelData[0]) == Float.floatToIntBits(sampleValues[i])
+                && Float.floatToIntBits(accelData[1]) == Float.floatToIntBits(sampleValues[i + 1])
+                && Float.floatToIntBits(accelData[2]) == Float.floatToIntBits(sampleValues[i + 2]);
+    }
+}
@@ -0,0 +1,140 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.TimeFormat;
+
+/**
+ * Timer class
+ * Keeps track of how long time spent on this level, the app draws it in the right corner.
+ * The clock is sampled once per rendered frame with update(), the text is only
+ * rewritten when the visible centiseconds change, and never allocates.
+ */
+public class Timer {
+
+    private long startTime;   // Uptime when the timer was last started
+    private long timeAtPause; // Time counted before the last start
+    private boolean running;
+
+    private final char[] text = new char[TimeFormat.LENGTH];
+    private long shownCentiseconds;
+
+
+    /**
+     * Initializes the timer
+     */
+    public Timer(){
+        this.reset();
+    }
+
+    /**
+     * Monotonic clock the timer reads, same time base as SystemClock.uptimeMillis on Android
+     * @return current time in milliseconds
+     */
+    public static long now(){
+        return System.nanoTime() / 1000000L;
+    }
+
+    /**
+     * Starts the timer.
+     */
+    public void start(){
+        this.start(now());
+    }
+
+    /**
+     * Starts the timer.
+     * @param now current uptime in milliseconds
+     */
+    synchronized void start(long now){
+        if (this.running)
+            return;
+
+        this.startTime = now;
+        this.running = true;
+    }
+
+    /**
+     * Stops the timer.
+     * if timer is started again with start()
+     * the timer will resume its time.
+     * call reset() to reset the timer to 00:00:00
+     */
+    public void stop(){
+        this.stop(now());
+    }
+
+    /**
+     * Stops the timer.
+     * @param now current uptime in milliseconds
+     */
+    synchronized void stop(long now){
+        if (!this.running)
+            return;
+
+        this.timeAtPause += now - this.startTime;
+        this.running = false;
+    }
+
+    /**
+     * Reset the timer to 00:00:00
+     */
+    public synchronized void reset(){
+        startTime = 0L;
+        timeAtPause = 0L;
+        running = false;
+
+        shownCentiseconds = 0;
+        TimeFormat.format(0, text);
+    }
+
+    /**
+     * Samples the clock, called once per rendered frame
+     */
+    public void update(){
+        this.update(now());
+    }
+
+    /**
+     * Samples the clock and rewrites the text if the visible time changed
+     * @param now current uptime in milliseconds
+     */
+    void update(long now){
+        long time = this.getTimeMilliseconds(now);
+        long centiseconds = time / 10;
+
+        if (centiseconds != this.shownCentiseconds){
+            this.shownCentiseconds = centiseconds;
+            TimeFormat.format(time, this.text);
+        }
+    }
+
+    /**
+     * Get the time
+     * @return time in 00:00:00 format
+     */
+    public String getTime(){
+        return TimeFormat.toString(this.getTimeMilliseconds());
+    }
+
+    /**
+     * @return The time in milliseconds
+     */
+    public long getTimeMilliseconds(){
+        return this.getTimeMilliseconds(now());
+    }
+
+    /**
+     * @param now current uptime in milliseconds
+     * @return The time in milliseconds, including time before pauses
+     */
+    synchronized long getTimeMilliseconds(long now){
+        return this.running ? this.timeAtPause + now - this.startTime : this.timeAtPause;
+    }
+
+    /**
+     * Gets the text shown for the last sampled time, rewritten in place by update()
+     * @return char[] time in 00:00:00 format
+     */
+    public char[] getText(){
+        return text;
+    }
+}
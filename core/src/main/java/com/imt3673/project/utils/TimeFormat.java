@@ -0,0 +1,77 @@
+package com.imt3673.project.utils;
+
+/**
+ * Formats level times as MM:SS:CC (minutes, seconds, centiseconds) without allocating.
+ */
+public final class TimeFormat {
+    public static final int  LENGTH   = 8; // Characters in MM:SS:CC
+    public static final long MAX_TIME = 99 * 60000 + 59 * 1000 + 990; // 99:59:99, longer times are shown as this
+
+    /**
+     * Writes a time into a char array
+     * @param milliseconds Time in milliseconds
+     * @param out Receives LENGTH characters from index 0
+     */
+    public static void format(final long milliseconds, final char[] out) {
+        long time         = Math.max(0, Math.min(milliseconds, MAX_TIME));
+        int  minutes      = (int)(time / 60000);
+        int  seconds      = (int)(time / 1000 % 60);
+        int  centiseconds = (int)(time / 10 % 100);
+
+        writeTwoDigits(minutes, out, 0);
+        out[2] = ':';
+        writeTwoDigits(seconds, out, 3);
+        out[5] = ':';
+        writeTwoDigits(centiseconds, out, 6);
+    }
+
+    /**
+     * Formats a time as a string, for the places that need one, eg. the win screen
+     * @param milliseconds Time in milliseconds
+     * @return The time in MM:SS:CC format
+     */
+    public static String toString(final long milliseconds) {
+        char[] text = new char[LENGTH];
+        format(milliseconds, text);
+
+        return new String(text);
+    }
+
+    /**
+     * Parses a time written as MM:SS:CC
+     * @param time The time in MM:SS:CC format
+     * @return The time in milliseconds
+     * @throws IllegalArgumentException If the time is not in MM:SS:CC format
+     */
+    public static long parse(final String time) {
+        if ((time == null) || (time.length() != LENGTH) || (time.charAt(2) != ':') || (time.charAt(5) != ':'))
+            throw new IllegalArgumentException("Time must be in MM:SS:CC format, was " + time);
+
+        return readTwoDigits(time, 0) * 60000L + readTwoDigits(time, 3) * 1000L + readTwoDigits(time, 6) * 10L;
+    }
+
+    /**
+     * @param time String to read from
+     * @param index Index of the first digit
+     * @return Value from 0 to 99
+     */
+    private static int readTwoDigits(final String time, final int index) {
+        char tens = time.charAt(index);
+        char ones = time.charAt(index + 1);
+
+        if ((tens < '0') || (tens > '9') || (ones < '0') || (ones > '9'))
+            throw new IllegalArgumentException("Time must be in MM:SS:CC format, was " + time);
+
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    /**
+     * @param value Value from 0 to 99
+     * @param out Char array to write to
+     * @param index Index of the first digit
+     */
+    private static void writeTwoDigits(final int value, final char[] out, final int index) {
+        out[index]     = (char)('0' + value / 10);
+        out[index + 1] = (char)('0' + value % 10);
+    }
+}
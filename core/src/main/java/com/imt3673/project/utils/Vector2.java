@@ -1,6 +1,6 @@
 package com.imt3673.project.utils;
 
-import android.graphics.RectF;
+import com.imt3673.project.Objects.Rect;
 
 import java.util.Locale;
 
@@ -71,6 +71,74 @@ public class Vector2 {
         }
     }
 
+    /**
+     * Sets both values of the vector
+     * @param x value for vector
+     * @param y value for vector
+     * @return this vector
+     */
+    public Vector2 set(float x, float y){
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Copies the values of another vector into this one
+     * @param other vector to copy
+     * @return this vector
+     */
+    public Vector2 set(Vector2 other){
+        x = other.x;
+        y = other.y;
+        return this;
+    }
+
+    /**
+     * Adds another vector to this one, without allocating
+     * @param other vector to add
+     * @return this vector
+     */
+    public Vector2 addInPlace(Vector2 other){
+        x += other.x;
+        y += other.y;
+        return this;
+    }
+
+    /**
+     * Adds x and y to this vector, without allocating
+     * @param x value to add to x
+     * @param y value to add to y
+     * @return this vector
+     */
+    public Vector2 addInPlace(float x, float y){
+        this.x += x;
+        this.y += y;
+        return this;
+    }
+
+    /**
+     * Subtracts another vector from this one, without allocating
+     * @param other vector to subtract
+     * @return this vector
+     */
+    public Vector2 subInPlace(Vector2 other){
+        x -= other.x;
+        y -= other.y;
+        return this;
+    }
+
+    /**
+     * Multiplies this vector with a float, without allocating
+     * @param number float
+     * @return this vector
+     */
+    public Vector2 scaleInPlace(float number){
+        x *= number;
+        y *= number;
+        return this;
+    }
+
     /**
      * Calculates the length of the vector
      * @return float length
@@ -134,10 +202,10 @@ public class Vector2 {
      * Adds a vector and a rect
      * @param vector Vector to add
      * @param rectf Rect to add
-     * @return RectF result
+     * @return Rect result
      */
-    public static RectF add(Vector2 vector, RectF rectf){
-        return new RectF(
+    public static Rect add(Vector2 vector, Rect rectf){
+        return new Rect(
                 rectf.left +  vector.x,
                 rectf.top +  vector.y,
                 rectf.right +  vector.x,
@@ -150,10 +218,10 @@ public class Vector2 {
      * Subtracts a vector and a rect
      * @param vector Vector to add
      * @param rectf Rect to add
-     * @return RectF result
+     * @return Rect result
      */
-    public static RectF subtract(Vector2 vector, RectF rectf){
-        return new RectF(
+    public static Rect subtract(Vector2 vector, Rect rectf){
+        return new Rect(
                 rectf.left -  vector.x,
                 rectf.top -  vector.y,
                 rectf.right -  vector.x,
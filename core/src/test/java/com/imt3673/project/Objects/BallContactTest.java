@@ -0,0 +1,107 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the contact manifold solver of the ball.
+ */
+public class BallContactTest {
+    private static final int PHONE_HEIGHT = 1080;
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void contact_givesNormalAndDepth() {
+        float[] normal = new float[2];
+
+        //Above the top edge
+        assertEquals(5, Physics.BallBlockContact(50, -5, 10, 0, 0, 100, 100, normal), DELTA);
+        assertArrayEquals(new float[]{0, -1}, normal, DELTA);
+
+        //Past the corner, along the diagonal
+        assertEquals(10 - 3 * (float)Math.sqrt(2), Physics.BallBlockContact(103, 103, 10, 0, 0, 100, 100, normal), DELTA);
+        assertEquals(Math.sqrt(0.5), normal[0], DELTA);
+        assertEquals(Math.sqrt(0.5), normal[1], DELTA);
+
+        //Centre inside, out through the nearest edge
+        assertEquals(14, Physics.BallBlockContact(96, 50, 10, 0, 0, 100, 100, normal), DELTA);
+        assertArrayEquals(new float[]{1, 0}, normal, DELTA);
+
+        //Touching is not a contact
+        assertEquals(0, Physics.BallBlockContact(50, -10, 10, 0, 0, 100, 100, normal), 0);
+    }
+
+    @Test
+    public void ballInCorner_isPushedOutOfBothWalls() {
+        BlockStore store = new BlockStore(3, 4000, PHONE_HEIGHT, 54);
+        store.add(new Block(new Vector2(0, 1000), 1000, 80, Block.TYPE_OBSTACLE)); //Floor, in two blocks
+        store.add(new Block(new Vector2(1000, 1000), 1000, 80, Block.TYPE_OBSTACLE));
+        store.add(new Block(new Vector2(2000, 0), 54, PHONE_HEIGHT, Block.TYPE_OBSTACLE)); //Wall
+        store.buildGrid();
+        Ball ball = contactBall(new Vector2(900, 900));
+
+        float[] accel = {4, 5, 6}; //Falls, rolls across the seam and presses into the corner
+        for (int i = 0; i < 600; i++) {
+            ball.physicsUpdate(accel, 1 / 60f, store);
+        }
+
+        float radius = ball.getRadius();
+        assertEquals(2000 - radius, ball.getPosition().x, 0.1f);
+        assertEquals(1000 - radius, ball.getPosition().y, 0.1f);
+        for (int block = 0; block < store.size(); block++) {
+            assertEquals(0, Physics.BallBlockContact(ball.getPosition().x, ball.getPosition().y, radius,
+                    store.getMinX(block), store.getMinY(block), store.getMaxX(block), store.getMaxY(block), new float[2]), 0);
+        }
+    }
+
+    @Test
+    public void fastBall_doesNotTunnelThroughThinWall() {
+        BlockStore store = new BlockStore(1, 8000, PHONE_HEIGHT, 54);
+        store.add(new Block(new Vector2(1000, 0), 2, PHONE_HEIGHT, Block.TYPE_OBSTACLE));
+        store.buildGrid();
+        Ball ball = contactBall(new Vector2(900, 540));
+
+        //A one second step would move the ball thousands of pixels, the moves are limited to a radius per sub-step
+        BallCollision hit = ball.physicsUpdate(new float[]{0, 10, 0}, 1, store);
+
+        assertEquals(Block.TYPE_OBSTACLE, hit.blockType);
+        assertTrue(ball.getPosition().x <= 1000 - ball.getRadius());
+        assertTrue(ball.getVelocity().x < 0);
+    }
+
+    @Test
+    public void contacts_testFewerBlocksThanAxes() {
+        long[] tests = new long[2];
+        for (int solver = 0; solver < 2; solver++) {
+            BlockStore store = new BlockStore(4, 2000, PHONE_HEIGHT, 54);
+            store.add(new Block(new Vector2(0, 1000), 2000, 80, Block.TYPE_OBSTACLE)); //A box to bounce around in
+            store.add(new Block(new Vector2(0, 0), 2000, 80, Block.TYPE_OBSTACLE));
+            store.add(new Block(new Vector2(0, 80), 80, 920, Block.TYPE_OBSTACLE));
+            store.add(new Block(new Vector2(1920, 80), 80, 920, Block.TYPE_OBSTACLE));
+            store.buildGrid();
+            Ball ball = new Ball(new Vector2(1000, 540), PHONE_HEIGHT);
+            ball.setSolver(solver);
+
+            float[] accel = new float[3];
+            for (int i = 0; i < 1200; i++) {
+                accel[0] = ((i / 100) % 2 == 0) ? 4 : -4;
+                accel[1] = ((i / 170) % 2 == 0) ? 3 : -3;
+                accel[2] = 6;
+                ball.physicsUpdate(accel, 1 / 60f, store);
+            }
+            tests[solver] = ball.getCollisionTests();
+        }
+
+        assertTrue("Axes " + tests[Ball.SOLVER_AXES] + ", contacts " + tests[Ball.SOLVER_CONTACTS],
+                tests[Ball.SOLVER_CONTACTS] < tests[Ball.SOLVER_AXES]);
+    }
+
+    private static Ball contactBall(Vector2 position) {
+        Ball ball = new Ball(position, PHONE_HEIGHT);
+        ball.setSolver(Ball.SOLVER_CONTACTS);
+        return ball;
+    }
+}
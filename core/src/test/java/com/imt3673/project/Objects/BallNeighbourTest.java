@@ -0,0 +1,53 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the neighbour list the ball keeps between collision queries.
+ */
+public class BallNeighbourTest {
+    private static final int PHONE_HEIGHT = 1080;
+
+    @Test
+    public void rollingBall_reusesNeighbours() {
+        BlockStore store = new BlockStore(2, 4000, PHONE_HEIGHT, 54);
+        store.add(new Block(new Vector2(0, 1000), 4000, 80, Block.TYPE_OBSTACLE)); //Floor
+        store.add(new Block(new Vector2(1200, 0), 54, PHONE_HEIGHT, Block.TYPE_OBSTACLE)); //Wall far to the right
+        store.buildGrid();
+        Ball ball = new Ball(new Vector2(1000, 970), PHONE_HEIGHT);
+
+        float[] accel = {0.5f, 0.2f, 9}; //Rolls slowly along the floor
+        for (int i = 0; i < 300; i++) {
+            ball.physicsUpdate(accel, 1 / 60f, store);
+        }
+
+        long queries = ball.getNeighbourHits() + ball.getNeighbourRebuilds();
+        assertEquals(600, queries); //One per axis per step
+        assertTrue("Rebuilds: " + ball.getNeighbourRebuilds(), ball.getNeighbourRebuilds() < queries / 10);
+    }
+
+    @Test
+    public void removedBlock_rebuildsNeighbours() {
+        BlockStore store = new BlockStore(2, 4000, PHONE_HEIGHT, 54);
+        int crate = store.add(new BreakableBlock(new Vector2(1060, 500), 54, 54, Block.TYPE_BREAKABLE));
+        store.add(new Block(new Vector2(1160, 0), 54, PHONE_HEIGHT, Block.TYPE_OBSTACLE));
+        store.buildGrid();
+        Ball ball = new Ball(new Vector2(1000, 527), PHONE_HEIGHT);
+
+        float[] still = {0, 0.001f, 9};
+        ball.physicsUpdate(still, 1 / 60f, store);
+        long rebuilds = ball.getNeighbourRebuilds();
+
+        store.remove(crate); //Eg. broken by another ball
+        ball.physicsUpdate(still, 1 / 60f, store);
+        assertEquals(rebuilds + 1, ball.getNeighbourRebuilds());
+
+        //The crate is gone, so the ball now rolls to the wall behind it
+        BallCollision hit = ball.physicsUpdate(new float[]{0, 10, 0}, 1, store);
+        assertEquals(Block.TYPE_OBSTACLE, hit.blockType);
+    }
+}
@@ -0,0 +1,50 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the ball physics step does not allocate on the heap.
+ */
+public class BallPhysicsAllocationTest {
+    private static final int PHONE_HEIGHT = 1080;
+    private static final int STEPS = 10000;
+
+    @Test
+    public void physicsUpdate_doesNotAllocate() {
+        BlockStore grid = new BlockStore(76, 4000, PHONE_HEIGHT, 108);
+        for (int x = 0; x < 4000; x += 108) { //Walls along the top and bottom
+            grid.add(new Block(new Vector2(x, 0), 108, 108, Block.TYPE_OBSTACLE));
+            grid.add(new Block(new Vector2(x, 972), 108, 108, Block.TYPE_OBSTACLE));
+        }
+        grid.buildGrid();
+
+        Ball ball = new Ball(new Vector2(2000, 540), PHONE_HEIGHT);
+        float[] accel = new float[3];
+
+        runSteps(ball, grid, accel); //Warm up, lets the query list grow to its final capacity
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        runSteps(ball, grid, accel);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals("Bytes allocated by " + STEPS + " physics steps", 0, allocated);
+    }
+
+    private void runSteps(Ball ball, BlockStore grid, float[] accel) {
+        for (int i = 0; i < STEPS; i++) {
+            //Tilt back and forth so the ball keeps moving and hitting the walls
+            accel[0] = (i / 500) % 2 == 0 ? 3 : -3;
+            accel[1] = (i / 700) % 2 == 0 ? 2 : -2;
+            accel[2] = 9;
+            ball.physicsUpdate(accel, 1 / 60f, grid);
+        }
+    }
+}
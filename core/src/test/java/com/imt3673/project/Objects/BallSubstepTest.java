@@ -0,0 +1,59 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests how the ball splits a physics step into sub-steps.
+ */
+public class BallSubstepTest {
+    private static final int PHONE_HEIGHT = 1080;
+
+    private final BlockStore emptyGrid = new BlockStore(0, 100000, 100000, 54);
+
+    @Before
+    public void setUp() {
+        emptyGrid.buildGrid();
+    }
+
+    @Test
+    public void slowBall_takesOneSubstep() {
+        Ball ball = new Ball(new Vector2(50000, 50000), PHONE_HEIGHT);
+        ball.physicsUpdate(new float[]{0.5f, 0.5f, 9}, 1 / 60f, emptyGrid);
+
+        assertEquals(1, ball.getSubsteps());
+        assertEquals(0, ball.getCappedSteps());
+    }
+
+    @Test
+    public void longStep_isSplitAndCapped() {
+        Ball ball = new Ball(new Vector2(50000, 50000), PHONE_HEIGHT);
+        float[] accel = {0, 10, 0};
+
+        //Moves a few radii in a 100 ms step, split but under the cap
+        ball.physicsUpdate(accel, 0.1f, emptyGrid);
+        long split = ball.getSubsteps();
+        assertTrue(split > 1);
+        assertEquals(0, ball.getCappedSteps());
+
+        //A one second stall would need far more sub-steps than the cap
+        ball.physicsUpdate(accel, 1, emptyGrid);
+        assertEquals(split + 8, ball.getSubsteps());
+        assertEquals(1, ball.getCappedSteps());
+    }
+
+    @Test
+    public void substeps_keepVelocityChangeOfStep() {
+        Ball ball = new Ball(new Vector2(50000, 50000), PHONE_HEIGHT);
+        ball.physicsUpdate(new float[]{4, 10, 0}, 0.1f, emptyGrid);
+
+        //Free flight, so the velocity only depends on the acceleration and the length of the step (6 reference steps)
+        float accelDelta = PHONE_HEIGHT * 0.005f;
+        assertEquals(10 * accelDelta * 6, ball.getVelocity().x, 0.01f);
+        assertEquals(4 * accelDelta * 6, ball.getVelocity().y, 0.01f);
+    }
+}
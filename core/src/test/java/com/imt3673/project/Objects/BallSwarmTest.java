@@ -0,0 +1,95 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests spawning a swarm of balls and the collisions between them.
+ */
+public class BallSwarmTest {
+    private static final int PHONE_HEIGHT = 1080;
+    private static final int C = Block.TYPE_CLEAR;
+    private static final int W = Block.TYPE_OBSTACLE;
+    private static final int S = Block.TYPE_SPAWN;
+    private static final int G = Block.TYPE_GOAL;
+
+    private static final int[] PIXELS = { //A room around the spawn point, and a room behind a wall
+            W, W, W, W, W, W, W, W, W, W,
+            W, S, C, C, W, C, C, C, G, W,
+            W, C, C, C, W, C, C, C, C, W,
+            W, C, C, C, W, C, C, C, C, W,
+            W, W, W, W, W, W, W, W, W, W,
+    };
+
+    @Test
+    public void spawn_fillsTheRoomAroundTheSpawnPoint() {
+        Level level = new Level();
+        level.buildFromPixels(new ArrayPixelSource(PIXELS, 10, 5), 500);
+        BallSwarm swarm = BallSwarm.spawn(level, 1000, 500);
+
+        assertEquals(level.getSpawnPoint().x + Level.getPixelSize() / 2, swarm.get(0).getPosition().x, 0); //Middle of the spawn pixel
+        assertEquals(level.getSpawnPoint().y + Level.getPixelSize() / 2, swarm.get(0).getPosition().y, 0);
+        assertTrue("Room for more than a few balls, spawned " + swarm.size(), swarm.size() > 50);
+        assertTrue("No room for all of them", swarm.size() < 1000);
+
+        BlockStore blocks = level.getBlockStore();
+        for (int i = 0; i < swarm.size(); i++) {
+            Ball ball = swarm.get(i);
+            assertTrue("Behind the wall", ball.getPosition().x < 4 * Level.getPixelSize());
+            for (int block = 0; block < blocks.size(); block++) {
+                assertEquals(0, Physics.BallBlockContact(ball.getPosition().x, ball.getPosition().y, ball.getRadius(),
+                        blocks.getMinX(block), blocks.getMinY(block), blocks.getMaxX(block), blocks.getMaxY(block), new float[2]), 0);
+            }
+            for (int j = 0; j < i; j++) {
+                assertTrue(Vector2.distance(ball.getPosition(), swarm.get(j).getPosition()) >= 2 * ball.getRadius());
+            }
+        }
+    }
+
+    @Test
+    public void ballsRollingIntoEachOther_bounceApart() {
+        BlockStore store = new BlockStore(1, 4000, PHONE_HEIGHT, 54);
+        store.add(new Block(new Vector2(0, 1000), 4000, 80, Block.TYPE_OBSTACLE));
+        store.buildGrid();
+        BallSwarm swarm = new BallSwarm(2);
+        Ball left = new Ball(new Vector2(1000, 900), PHONE_HEIGHT);
+        Ball right = new Ball(new Vector2(1000 + left.getRadius(), 900), PHONE_HEIGHT);
+        left.getVelocity().addInPlace(300, 0);
+        right.getVelocity().addInPlace(-300, 0);
+        swarm.add(left);
+        swarm.add(right);
+
+        swarm.physicsUpdate(new float[]{0, 0, 9}, 1 / 60f, store);
+
+        assertEquals(2 * left.getRadius(), right.getPosition().x - left.getPosition().x, 0.01f);
+        assertTrue(left.getVelocity().x < 0);
+        assertTrue(right.getVelocity().x > 0);
+        assertEquals(0, left.getVelocity().x + right.getVelocity().x, 0.01f); //Same mass, momentum is kept
+        assertEquals(1, swarm.getPairTests());
+    }
+
+    @Test
+    public void goal_isReachedWhenEveryBallIsHome() {
+        BlockStore store = new BlockStore(1, 4000, PHONE_HEIGHT, 54);
+        store.add(new Block(new Vector2(2000, 500), 54, 54, Block.TYPE_GOAL));
+        store.buildGrid();
+        BallSwarm swarm = new BallSwarm(2);
+        Ball first = new Ball(new Vector2(2027, 527), PHONE_HEIGHT);
+        Ball second = new Ball(new Vector2(1000, 527), PHONE_HEIGHT);
+        swarm.add(first);
+        swarm.add(second);
+        float[] still = {0, 0, 9};
+
+        assertNotEquals(Block.TYPE_GOAL, swarm.physicsUpdate(still, 1 / 60f, store).blockType);
+        assertTrue(swarm.isHome(0));
+        assertFalse(swarm.isHome(1));
+        assertEquals(second.getPosition().x, swarm.getCenterX(), 0); //The camera follows the balls still playing
+
+        second.getPosition().addInPlace(1027, 0);
+        assertEquals(Block.TYPE_GOAL, swarm.physicsUpdate(still, 1 / 60f, store).blockType);
+        assertEquals(2, swarm.getHomeCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the swept collision of the ball against blocks.
+ */
+public class BallSweepTest {
+    private static final int PHONE_HEIGHT = 1080;
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void fastBall_doesNotTunnelThroughThinWall() {
+        BlockStore grid = store(8000, new Block(new Vector2(1000, 0), 2, PHONE_HEIGHT, Block.TYPE_OBSTACLE));
+        Ball ball = new Ball(new Vector2(900, 540), PHONE_HEIGHT);
+
+        //A one second step moves the ball thousands of pixels, far past the wall
+        BallCollision hit = ball.physicsUpdate(new float[]{0, 10, 0}, 1, grid);
+
+        assertEquals(Block.TYPE_OBSTACLE, hit.blockType);
+        assertTrue(ball.getPosition().x <= 1000 - ball.getRadius());
+        assertTrue(ball.getPosition().x > 1000 - ball.getRadius() - 0.1f);
+        assertTrue(ball.getVelocity().x < 0);
+        assertFalse(Physics.BallBlockCollision(ball, new Rect(1000, 0, 1002, PHONE_HEIGHT)));
+    }
+
+    @Test
+    public void ballAgainstWall_slidesAlongIt() {
+        BlockStore grid = store(4000, new Block(new Vector2(1000, 0), 54, PHONE_HEIGHT, Block.TYPE_OBSTACLE));
+        Ball ball = new Ball(new Vector2(900, 540), PHONE_HEIGHT);
+
+        float[] accel = {3, 10, 1}; //Pushed into the wall and down along it
+        for (int i = 0; i < 60; i++) {
+            ball.physicsUpdate(accel, 1 / 60f, grid);
+        }
+
+        assertTrue(ball.getPosition().x <= 1000 - ball.getRadius());
+        assertTrue(ball.getPosition().y > 600);
+    }
+
+    @Test
+    public void sweep_passingCorner_hitsRoundedEdge() {
+        Ball ball = new Ball(new Vector2(0, 0), PHONE_HEIGHT);
+        float radius = ball.getRadius();
+        Rect rect = new Rect(100, 0, 200, 100);
+
+        //Centre 0.6 radius below the rect, so it first touches the corner 0.8 radius before the left edge
+        ball.getPosition().y = 100 + radius * 0.6f;
+        float time = Physics.BallBlockSweep(ball, 0, 0, 200, rect);
+        assertEquals((100 - radius * 0.8f) / 200, time, DELTA);
+
+        //Moving away, and passing below it, are both misses
+        assertEquals(Physics.NO_HIT, Physics.BallBlockSweep(ball, 0, 250, 400, rect), 0);
+        ball.getPosition().y = 100 + radius;
+        assertEquals(Physics.NO_HIT, Physics.BallBlockSweep(ball, 0, 0, 400, rect), 0);
+    }
+
+    private static BlockStore store(float width, Block block) {
+        BlockStore store = new BlockStore(1, width, PHONE_HEIGHT, 54);
+        store.add(block);
+        store.buildGrid();
+        return store;
+    }
+}
@@ -0,0 +1,120 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the packed block store used for ball/block collision.
+ */
+public class BlockStoreTest {
+    private static final float CELL = 10;
+
+    @Test
+    public void query_findsBlocksInQueriedCellsOnce() {
+        Random random = new Random(4);
+        BlockStore store = new BlockStore(300, 1000, 100, CELL);
+        ArrayList<Block> blocks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Block block = new Block(new Vector2(random.nextInt(980), random.nextInt(80)), 1 + random.nextInt(30), 1 + random.nextInt(20), Block.TYPE_OBSTACLE);
+            blocks.add(block);
+            store.add(block);
+        }
+        store.buildGrid();
+
+        for (int i = 0; i < 1000; i++) {
+            float x = random.nextFloat() * 1000;
+            float y = random.nextFloat() * 100;
+            int count = store.query(x, y, x + 27, y + 27);
+
+            HashSet<Block> found = new HashSet<>();
+            for (int r = 0; r < count; r++) {
+                found.add(store.getBlock(store.getResult(r)));
+            }
+            assertEquals("Every block reported once", count, found.size());
+
+            HashSet<Block> expected = new HashSet<>(); //Every block sharing a cell with the query box
+            for (Block block : blocks) {
+                Rect rect = block.getRectangle();
+                if (cell(rect.left, 100) <= cell(x + 27, 100) && cell(rect.right, 100) >= cell(x, 100)
+                        && cell(rect.top, 10) <= cell(y + 27, 10) && cell(rect.bottom, 10) >= cell(y, 10)) {
+                    expected.add(block);
+                }
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    /**
+     * Fills levels of increasing width with a block in every cell and checks that a
+     * ball sized query looks at the same number of entries regardless of level width.
+     */
+    @Test
+    public void query_visitsSameEntriesAsWidthGrows() {
+        final int height = 16;
+        final int queries = 1000;
+        int baselineVisits = -1;
+
+        for (int width = 100; width <= 10000; width *= 100) {
+            BlockStore store = new BlockStore(width * height, width * CELL, height * CELL, CELL);
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    store.add(new Block(new Vector2(x * CELL, y * CELL), CELL, CELL, Block.TYPE_OBSTACLE));
+                }
+            }
+            store.buildGrid();
+
+            long visits = 0;
+            for (int i = 0; i < queries; i++) {
+                float x = (i * 7.3f) % (width * CELL);
+                store.query(x, 50, x + CELL * 0.9f, 50 + CELL * 0.9f);
+                visits += store.getLastQueryVisits();
+            }
+
+            int visitsPerQuery = (int)(visits / queries);
+            if (baselineVisits < 0) {
+                baselineVisits = visitsPerQuery;
+            }
+            assertEquals("Entries visited per query must not depend on level width", baselineVisits, visitsPerQuery);
+        }
+    }
+
+    @Test
+    public void remove_tombstonesBlock() {
+        BlockStore store = new BlockStore(2, 100, 100, CELL);
+        int crate = store.add(new BreakableBlock(new Vector2(15, 15), 20, 20, Block.TYPE_BREAKABLE));
+        int wall = store.add(new Block(new Vector2(30, 30), 20, 20, Block.TYPE_OBSTACLE));
+        store.buildGrid();
+
+        store.remove(crate);
+
+        assertEquals(1, store.query(0, 0, 100, 100));
+        assertEquals(wall, store.getResult(0));
+        assertEquals(BlockStore.CODE_REMOVED, store.getCode(crate));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void add_packsBoundsAndType() {
+        BlockStore store = new BlockStore(1, 100, 100, CELL);
+        int hole = store.add(new Block(new Vector2(10, 20), 30, 8, Block.TYPE_HOLE));
+
+        assertEquals(10, store.getMinX(hole), 0);
+        assertEquals(20, store.getMinY(hole), 0);
+        assertEquals(40, store.getMaxX(hole), 0);
+        assertEquals(28, store.getMaxY(hole), 0);
+        assertEquals(15, store.getHalfWidth(hole), 0);
+        assertEquals(4, store.getHalfHeight(hole), 0);
+        assertEquals(BlockStore.CODE_HOLE, store.getCode(hole));
+    }
+
+    private static int cell(float value, int count) {
+        return Math.max(0, Math.min(count - 1, (int)Math.floor(value / CELL)));
+    }
+}
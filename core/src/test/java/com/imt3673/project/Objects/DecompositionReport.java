@@ -0,0 +1,64 @@
+package com.imt3673.project.Objects;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Prints the block counts of level1 to level4 with the greedy and the optimal decomposition.
+ * Run it with ./gradlew :core:decompositionReport
+ * Lives with the tests, it reads the level images with java.awt which Android does not have.
+ */
+public class DecompositionReport {
+    public static final int LEVEL_COUNT = 4;
+
+    //The levels are app resources, found from the core module directory or the project directory
+    private static final File[] LEVEL_DIRS = {new File("../app/src/main/res/raw"), new File("app/src/main/res/raw")};
+
+    public static void main(String[] args) throws IOException {
+        for (int n = 1; n <= LEVEL_COUNT; n++){
+            int[] size = new int[2];
+            int[] pixels = readLevel(n, size);
+            LevelData greedy = LevelBuilder.build(pixels, size[0], size[1]);
+            LevelData optimal = LevelBuilder.build(pixels, size[0], size[1], new OptimalDecomposition());
+            System.out.println("level" + n + " (" + size[0] + "x" + size[1] + "): greedy " + greedy.getRectCount()
+                    + " blocks, optimal " + optimal.getRectCount() + " blocks");
+        }
+    }
+
+    /**
+     * Finds the image of a shipped level
+     * @param n level number
+     * @return File the image, null if it is not found
+     */
+    public static File levelFile(int n){
+        for (File dir : LEVEL_DIRS){
+            File file = new File(dir, "level" + n + ".png");
+            if (file.exists()){
+                return file;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the pixels of a shipped level, in the same ARGB layout as Bitmap.getPixels
+     * @param n level number
+     * @param size filled with the width and height
+     * @return int[] pixels
+     * @throws IOException if the image is missing or cannot be read
+     */
+    public static int[] readLevel(int n, int[] size) throws IOException {
+        File file = levelFile(n);
+        if (file == null){
+            throw new IOException("level" + n + ".png not found in " + LEVEL_DIRS[0] + " or " + LEVEL_DIRS[1]);
+        }
+
+        BufferedImage image = ImageIO.read(file);
+        size[0] = image.getWidth();
+        size[1] = image.getHeight();
+        return image.getRGB(0, 0, size[0], size[1], null, 0, size[0]);
+    }
+}
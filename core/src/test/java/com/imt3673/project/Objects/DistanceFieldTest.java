@@ -0,0 +1,75 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the distance field of the walls, and the ball colliding with it.
+ */
+public class DistanceFieldTest {
+    private static final int PHONE_HEIGHT = 1080;
+
+    @Test
+    public void distance_matchesWallsAndIgnoresCrates() {
+        BlockStore store = new BlockStore(3, 1000, PHONE_HEIGHT, 54);
+        store.add(new Block(new Vector2(0, 1000), 1000, 80, Block.TYPE_OBSTACLE)); //Floor
+        store.add(new Block(new Vector2(0, 1040), 1000, 40, Block.TYPE_OBSTACLE)); //Split wall, overlapping the floor
+        store.add(new BreakableBlock(new Vector2(500, 500), 54, 54, Block.TYPE_BREAKABLE));
+        store.buildGrid();
+        DistanceField field = new DistanceField(store, 1000, PHONE_HEIGHT, 13.5f, 100);
+
+        assertEquals(30, field.getDistance(300, 970), 0.01f);
+        assertEquals(-5, field.getDistance(300, 1005), 0.01f);
+        assertEquals(100, field.getDistance(527, 527), 0); //The crate is not a wall, clamped
+    }
+
+    @Test
+    public void ball_endsWhereItDoesWithoutField() {
+        Ball[] balls = new Ball[2];
+        for (int mode = 0; mode < 2; mode++) {
+            BlockStore store = new BlockStore(2, 4000, PHONE_HEIGHT, 54);
+            store.add(new Block(new Vector2(0, 1000), 4000, 80, Block.TYPE_OBSTACLE)); //Floor
+            store.add(new Block(new Vector2(2000, 0), 54, PHONE_HEIGHT, Block.TYPE_OBSTACLE)); //Wall
+            store.buildGrid();
+            if (mode == 1) {
+                store.setDistanceField(new DistanceField(store, 4000, PHONE_HEIGHT, Ball.radiusFor(PHONE_HEIGHT) / 2, 100));
+            }
+
+            balls[mode] = new Ball(new Vector2(1500, 500), PHONE_HEIGHT);
+            float[] accel = {4, 5, 6}; //Falls to the floor, bounces off the wall and rests in the corner
+            for (int i = 0; i < 600; i++) {
+                balls[mode].physicsUpdate(accel, 1 / 60f, store);
+            }
+        }
+
+        assertEquals(balls[0].getPosition().x, balls[1].getPosition().x, 0);
+        assertEquals(balls[0].getPosition().y, balls[1].getPosition().y, 0);
+        assertEquals(balls[0].getVelocity().x, balls[1].getVelocity().x, 0);
+        assertEquals(balls[0].getVelocity().y, balls[1].getVelocity().y, 0);
+        assertTrue(balls[1].getFieldSkips() > 0);
+        assertTrue(balls[1].getCollisionTests() < balls[0].getCollisionTests());
+    }
+
+    @Test
+    public void openSpace_isSkippedAndCratesStillBreak() {
+        BlockStore store = new BlockStore(2, 4000, PHONE_HEIGHT, 54);
+        store.add(new Block(new Vector2(0, 1000), 4000, 80, Block.TYPE_OBSTACLE)); //Floor, far below
+        int crate = store.add(new BreakableBlock(new Vector2(1600, 400), 54, 54, Block.TYPE_BREAKABLE));
+        store.buildGrid();
+        store.setDistanceField(new DistanceField(store, 4000, PHONE_HEIGHT, Ball.radiusFor(PHONE_HEIGHT) / 2, 100));
+        Ball ball = new Ball(new Vector2(1000, 427), PHONE_HEIGHT);
+
+        BallCollision hit = new BallCollision();
+        float[] accel = {0, 8, 0};
+        for (int i = 0; i < 120 && hit.blockType != Block.TYPE_BREAKABLE; i++) {
+            hit = ball.physicsUpdate(accel, 1 / 60f, store);
+        }
+
+        assertEquals(Block.TYPE_BREAKABLE, hit.blockType);
+        assertEquals(BlockStore.CODE_REMOVED, store.getCode(crate));
+        assertEquals("Every move was in open space", ball.getFieldLookups(), ball.getFieldSkips());
+    }
+}
@@ -0,0 +1,132 @@
+package com.imt3673.project.Objects;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests building level rectangles from pixels.
+ */
+public class LevelBuilderTest {
+    private static final int C = Block.TYPE_CLEAR;
+    private static final int W = Block.TYPE_OBSTACLE;
+    private static final int S = Block.TYPE_SPAWN;
+    private static final int B = Block.TYPE_BREAKABLE;
+
+    @Test
+    public void build_mergesRectanglesAndKeepsPixels() {
+        int[] pixels = {
+                W, W, W, C,
+                W, W, W, S,
+                W, C, B, B,
+        };
+        int[] copy = pixels.clone();
+
+        LevelData data = LevelBuilder.build(pixels, 4, 3);
+
+        assertArrayEquals("Pixels must not be modified", copy, pixels);
+        assertEquals(3, data.getSpawnX());
+        assertEquals(1, data.getSpawnY());
+        assertEquals(4, data.getRectCount()); //3x2 wall, 1x1 wall, two 1x1 crates
+        assertEquals(3, data.getRectWidth(0));
+        assertEquals(2, data.getRectHeight(0));
+    }
+
+    @Test
+    public void build_matchesOriginalGreedyAlgorithm() {
+        Random random = new Random(42);
+        for (int n = 0; n < 50; n++) {
+            int width = 5 + random.nextInt(60);
+            int height = 5 + random.nextInt(20);
+            int[] pixels = syntheticLevel(width, height, random);
+
+            LevelData data = LevelBuilder.build(pixels, width, height);
+            LevelData expected = referenceBuild(pixels.clone(), width, height);
+
+            assertEquals(expected.getRectCount(), data.getRectCount());
+            for (int i = 0; i < data.getRectCount(); i++) {
+                assertEquals(expected.getRectX(i), data.getRectX(i));
+                assertEquals(expected.getRectY(i), data.getRectY(i));
+                assertEquals(expected.getRectWidth(i), data.getRectWidth(i));
+                assertEquals(expected.getRectHeight(i), data.getRectHeight(i));
+                assertEquals(expected.getRectType(i), data.getRectType(i));
+            }
+        }
+    }
+
+    /**
+     * Makes a level with walls around the edges, random wall runs, holes and crates
+     */
+    static int[] syntheticLevel(int width, int height, Random random) {
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean edge = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                int roll = random.nextInt(100);
+                int type = C;
+                if (edge || roll < 20) {
+                    type = W;
+                } else if (roll < 22) {
+                    type = B;
+                } else if (roll < 23) {
+                    type = Block.TYPE_HOLE;
+                }
+                pixels[y * width + x] = type;
+            }
+        }
+        pixels[width + 1] = S;
+        pixels[width * 2 - 2] = Block.TYPE_GOAL;
+        return pixels;
+    }
+
+    /**
+     * The original per-pixel algorithm from Level, clearing consumed pixels in place
+     */
+    private static LevelData referenceBuild(int[] level, int width, int height) {
+        LevelData data = new LevelData(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int clr = level[y * width + x];
+                if (clr == S) {
+                    data.setSpawn(x, y);
+                    level[y * width + x] = C;
+                } else if (clr == B) {
+                    data.addRect(x, y, 1, 1, clr);
+                    level[y * width + x] = C;
+                } else if (clr == W || clr == Block.TYPE_GOAL || clr == Block.TYPE_HOLE) {
+                    int w = 0;
+                    int h = 0;
+                    int c = clr;
+                    while (c == clr && x + w < width) {
+                        w++;
+                        if (x + w >= width) {
+                            break;
+                        }
+                        c = level[y * width + x + w];
+                    }
+                    boolean fullRow = true;
+                    while (fullRow) {
+                        h++;
+                        if (y + h >= height) {
+                            break;
+                        }
+                        for (int i = x; i < x + w; i++) {
+                            if (level[(y + h) * width + i] != clr) {
+                                fullRow = false;
+                            }
+                        }
+                    }
+                    for (int i = x; i < x + w; i++) {
+                        for (int j = y; j < y + h; j++) {
+                            level[j * width + i] = C;
+                        }
+                    }
+                    data.addRect(x, y, w, h, clr);
+                }
+            }
+        }
+        return data;
+    }
+}
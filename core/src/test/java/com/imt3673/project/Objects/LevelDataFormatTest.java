@@ -0,0 +1,64 @@
+package com.imt3673.project.Objects;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the binary format used by the level cache.
+ */
+public class LevelDataFormatTest {
+    private static final long HASH = 0x1234abcdL;
+
+    @Test
+    public void roundTrip_keepsLayout() throws IOException {
+        LevelData data = LevelBuilder.build(LevelBuilderTest.syntheticLevel(100, 16, new Random(8)), 100, 16);
+        LevelData read = LevelDataFormat.read(ByteBuffer.wrap(write(data, HASH)), HASH);
+
+        assertNotNull(read);
+        assertEquals(data.getWidth(), read.getWidth());
+        assertEquals(data.getHeight(), read.getHeight());
+        assertEquals(data.getSpawnX(), read.getSpawnX());
+        assertEquals(data.getSpawnY(), read.getSpawnY());
+        assertEquals(data.getRectCount(), read.getRectCount());
+        for (int i = 0; i < data.getRectCount(); i++){
+            assertEquals(data.getRectX(i), read.getRectX(i));
+            assertEquals(data.getRectY(i), read.getRectY(i));
+            assertEquals(data.getRectWidth(i), read.getRectWidth(i));
+            assertEquals(data.getRectHeight(i), read.getRectHeight(i));
+            assertEquals(data.getRectType(i), read.getRectType(i));
+        }
+    }
+
+    @Test
+    public void read_rejectsOtherSource() throws IOException {
+        LevelData data = LevelBuilder.build(LevelBuilderTest.syntheticLevel(30, 10, new Random(1)), 30, 10);
+        assertNull(LevelDataFormat.read(ByteBuffer.wrap(write(data, HASH)), HASH + 1));
+    }
+
+    @Test
+    public void read_rejectsOldVersion() throws IOException {
+        byte[] bytes = write(new LevelData(30, 10), HASH);
+        ByteBuffer.wrap(bytes).putInt(4, LevelDataFormat.VERSION - 1);
+        assertNull(LevelDataFormat.read(ByteBuffer.wrap(bytes), HASH));
+    }
+
+    @Test
+    public void read_rejectsTruncatedFile() throws IOException {
+        LevelData data = LevelBuilder.build(LevelBuilderTest.syntheticLevel(30, 10, new Random(2)), 30, 10);
+        byte[] bytes = write(data, HASH);
+        assertNull(LevelDataFormat.read(ByteBuffer.wrap(bytes, 0, bytes.length - 4), HASH));
+        assertNull(LevelDataFormat.read(ByteBuffer.wrap(new byte[8]), HASH));
+    }
+
+    private static byte[] write(LevelData data, long hash) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LevelDataFormat.write(data, hash, out);
+        return out.toByteArray();
+    }
+}
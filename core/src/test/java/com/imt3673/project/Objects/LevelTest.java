@@ -0,0 +1,83 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests building and updating the level model without Android.
+ */
+public class LevelTest {
+    private static final int C = Block.TYPE_CLEAR;
+    private static final int W = Block.TYPE_OBSTACLE;
+    private static final int S = Block.TYPE_SPAWN;
+    private static final int B = Block.TYPE_BREAKABLE;
+
+    private static final int[] PIXELS = {
+            W, W, W, W, W,
+            W, S, C, B, W,
+            W, W, W, W, W,
+    };
+
+    @Test
+    public void buildFromPixels_scalesToPhoneHeight() {
+        Level level = new Level();
+        level.buildFromPixels(new ArrayPixelSource(PIXELS, 5, 3), 300);
+
+        assertEquals(100, Level.getPixelSize(), 1e-6);
+        assertEquals(100, level.getSpawnPoint().x, 1e-6);
+        assertEquals(500, level.getBackground().getRectangle().width(), 1e-6);
+        assertEquals(1, level.getBreakableBlocks().size());
+        assertEquals(level.getTotalBlockCount(), level.getBlockStore().size());
+    }
+
+    @Test
+    public void update_movesBrokenCrateOutOfStaticLayer() {
+        Level level = new Level();
+        level.buildFromPixels(new ArrayPixelSource(PIXELS, 5, 3), 300);
+        ArrayList<BreakableBlock> broken = new ArrayList<>();
+        level.setListener(broken::add);
+
+        BreakableBlock crate = level.getBreakableBlocks().get(0);
+        crate.breakBlock(new Vector2());
+        level.update(0.1f);
+
+        assertEquals(1, broken.size());
+        assertTrue(level.getBreakableBlocks().isEmpty());
+        assertEquals(1, level.getBrokenBlocks().size());
+
+        level.update(1f); //Gone once the break animation is over
+        assertTrue(level.getBrokenBlocks().isEmpty());
+        assertFalse(level.getBlocks().contains(crate));
+    }
+
+    @Test
+    public void queryBlocks_costIsFlatAsViewMovesRight() {
+        int width = 200;
+        int height = 10;
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean wall = y == 0 || y == height - 1; //As wide as the level, like the shipped levels
+                boolean pillar = x % 10 == 5 && y > 2 && y < 7;
+                pixels[y * width + x] = (wall || pillar) ? W : C;
+            }
+        }
+        Level level = new Level();
+        level.buildFromPixels(new ArrayPixelSource(pixels, width, height), 500);
+        float view = 20 * Level.getPixelSize();
+
+        int found = level.queryBlocks(0, view);
+        int visits = level.getBlockStore().getLastQueryVisits();
+        assertEquals("Both walls and two pillars", 4, found);
+        for (int x = 10; x + 20 < width; x += 10) { //The last strip is cut off by the edge of the level
+            float left = x * Level.getPixelSize();
+            assertEquals(found, level.queryBlocks(left, left + view));
+            assertEquals("Blocks visited must not grow as the view moves right", visits, level.getBlockStore().getLastQueryVisits());
+        }
+    }
+}
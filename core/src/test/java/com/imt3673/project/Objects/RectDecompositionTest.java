@@ -0,0 +1,83 @@
+package com.imt3673.project.Objects;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the decomposition strategies, on random levels and on the shipped levels.
+ * DecompositionReport prints the block counts of the shipped levels.
+ */
+public class RectDecompositionTest {
+    private static final int C = Block.TYPE_CLEAR;
+    private static final int W = Block.TYPE_OBSTACLE;
+
+    @Test
+    public void optimal_beatsGreedyOnDiagonal() {
+        int[] pixels = {
+                C, W, C,
+                W, W, C,
+                W, C, C,
+        };
+
+        assertEquals(3, LevelBuilder.build(pixels, 3, 3).getRectCount());
+        assertEquals(2, LevelBuilder.build(pixels, 3, 3, new OptimalDecomposition()).getRectCount());
+    }
+
+    @Test
+    public void optimal_coversEveryPixelOnce() {
+        Random random = new Random(9);
+        for (int n = 0; n < 50; n++) {
+            int width = 5 + random.nextInt(60);
+            int height = 5 + random.nextInt(20);
+            int[] pixels = LevelBuilderTest.syntheticLevel(width, height, random);
+
+            LevelData greedy = LevelBuilder.build(pixels, width, height);
+            LevelData optimal = LevelBuilder.build(pixels, width, height, new OptimalDecomposition());
+
+            assertArrayEquals(paint(greedy), paint(optimal));
+            assertEquals(greedy.getSpawnX(), optimal.getSpawnX());
+            assertEquals(greedy.getSpawnY(), optimal.getSpawnY());
+            assertTrue(optimal.getRectCount() <= greedy.getRectCount());
+        }
+    }
+
+    /**
+     * Checks level1 to level4 with both strategies, fails if a level image is not found.
+     */
+    @Test
+    public void shippedLevels_optimalNeedsNoMoreBlocks() throws IOException {
+        for (int n = 1; n <= DecompositionReport.LEVEL_COUNT; n++) {
+            assertNotNull("level" + n + ".png not found", DecompositionReport.levelFile(n));
+            int[] size = new int[2];
+            int[] pixels = DecompositionReport.readLevel(n, size);
+            int width = size[0];
+            int height = size[1];
+
+            LevelData greedy = LevelBuilder.build(pixels, width, height);
+            LevelData optimal = LevelBuilder.build(pixels, width, height, new OptimalDecomposition());
+
+            assertArrayEquals(paint(greedy), paint(optimal));
+            assertTrue(optimal.getRectCount() <= greedy.getRectCount());
+        }
+    }
+
+    /**
+     * Paints the rects back into a pixel array, fails if two rects overlap
+     */
+    private static int[] paint(LevelData data) {
+        int[] pixels = new int[data.getWidth() * data.getHeight()];
+        for (int i = 0; i < data.getRectCount(); i++) {
+            for (int y = data.getRectY(i); y < data.getRectY(i) + data.getRectHeight(i); y++) {
+                for (int x = data.getRectX(i); x < data.getRectX(i) + data.getRectWidth(i); x++) {
+                    assertEquals("Rects overlap at " + x + "," + y, 0, pixels[y * data.getWidth() + x]);
+                    pixels[y * data.getWidth() + x] = data.getRectType(i);
+                }
+            }
+        }
+        return pixels;
+    }
+}
@@ -0,0 +1,111 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.Vector2;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests recording a run and replaying it headless.
+ */
+public class ReplayTest {
+    private static final int PHONE_HEIGHT = 1080;
+    private static final int TICK_RATE = 60;
+    private static final int TICKS = 3000;
+    private static final int WAIT_TICKS = 30; //Ticks before the first sensor sample
+
+    @Test
+    public void replay_endsInRecordedState() throws IOException {
+        LevelData data = LevelBuilder.build(openLevel(120, 10), 120, 10);
+        ReplayRecorder recorder = new ReplayRecorder(data, PHONE_HEIGHT, TICK_RATE, TICKS);
+
+        //Steps the simulation the way GameLoop does, recording every tick
+        Level level = new Level();
+        level.buildFromData(data, PHONE_HEIGHT);
+        Ball ball = new Ball(new Vector2(level.getSpawnPoint()), PHONE_HEIGHT);
+        float step = 1.0f / TICK_RATE;
+        float[] accel = new float[3];
+        Random tilt = new Random(5);
+        int ticks = 0;
+        boolean goal = false;
+        while (ticks < TICKS && !goal){
+            level.update(step);
+            if (ticks++ < WAIT_TICKS){
+                recorder.tick(null);
+                continue;
+            }
+            if ((ticks - WAIT_TICKS) % 4 == 1){ //The sensor delivers slower than the tick rate, so samples repeat
+                accel[0] = tilt.nextFloat() * 8 - 4;
+                accel[1] = tilt.nextFloat() * 8 - 2;
+                accel[2] = 9;
+            }
+            recorder.tick(accel);
+            goal = ball.physicsUpdate(accel, step, level.getBlockStore()).blockType == Block.TYPE_GOAL;
+        }
+        long recordedHash = ReplayPlayer.stateHash(ball, level, ticks);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReplayFormat.write(recorder.toReplay(), out);
+        Replay replay = ReplayFormat.read(ByteBuffer.wrap(out.toByteArray()));
+        assertNotNull(replay);
+        assertTrue("Repeated samples are stored once", replay.getSampleCount() < (ticks - WAIT_TICKS) / 2);
+
+        ReplayPlayer.Result result = ReplayPlayer.play(replay);
+        assertEquals(ticks, result.ticks);
+        assertEquals(goal, result.goalReached);
+        assertEquals(recordedHash, result.stateHash);
+        assertTrue(result.collisionTests > 0);
+        assertEquals(result.stateHash, ReplayPlayer.play(replay).stateHash);
+        assertEquals("The distance field only skips tests", recordedHash, ReplayPlayer.play(replay, true, Ball.SOLVER_AXES).stateHash);
+        assertEquals(ReplayPlayer.play(replay, false, Ball.SOLVER_CONTACTS).stateHash, ReplayPlayer.play(replay, true, Ball.SOLVER_CONTACTS).stateHash);
+    }
+
+    @Test
+    public void recorder_stopsWhenRunIsTooLong() {
+        ReplayRecorder recorder = new ReplayRecorder(new LevelData(30, 10), PHONE_HEIGHT, TICK_RATE, 10);
+        for (int i = 0; i < 10; i++){
+            recorder.tick(null);
+        }
+        assertNotNull(recorder.toReplay());
+
+        recorder.tick(null);
+        assertTrue(recorder.isOverflowed());
+        assertNull(recorder.toReplay());
+    }
+
+    @Test
+    public void read_rejectsOldVersion() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReplayFormat.write(new ReplayRecorder(new LevelData(30, 10), PHONE_HEIGHT, TICK_RATE, 10).toReplay(), out);
+        byte[] bytes = out.toByteArray();
+        ByteBuffer.wrap(bytes).putInt(4, ReplayFormat.VERSION - 1);
+        assertNull(ReplayFormat.read(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Makes a walled level with room to roll, pillars, a crate wall and a hole
+     */
+    private static int[] openLevel(int width, int height) {
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean edge = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                boolean pillar = x % 15 == 7 && y % 4 == 1;
+                pixels[y * width + x] = (edge || pillar) ? Block.TYPE_OBSTACLE : Block.TYPE_CLEAR;
+            }
+        }
+        for (int y = 1; y < height - 1; y++) {
+            pixels[y * width + 40] = Block.TYPE_BREAKABLE;
+        }
+        pixels[5 * width + 60] = Block.TYPE_HOLE;
+        pixels[5 * width + 2] = Block.TYPE_SPAWN;
+        pixels[5 * width + width - 3] = Block.TYPE_GOAL;
+        return pixels;
+    }
+}
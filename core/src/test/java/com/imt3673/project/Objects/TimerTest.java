@@ -0,0 +1,77 @@
+package com.imt3673.project.Objects;
+
+import com.imt3673.project.utils.TimeFormat;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the level timer and checks that sampling it every frame does not allocate.
+ */
+public class TimerTest {
+    private static final int FRAMES = 100000;
+
+    @Test
+    public void format_writesMinutesSecondsCentiseconds() {
+        assertEquals("00:00:00", TimeFormat.toString(0));
+        assertEquals("00:00:05", TimeFormat.toString(50));
+        assertEquals("00:01:23", TimeFormat.toString(1239));
+        assertEquals("02:03:40", TimeFormat.toString(123400));
+        assertEquals("99:59:99", TimeFormat.toString(200 * 60000));
+    }
+
+    @Test
+    public void parse_readsFormattedTimes() {
+        assertEquals(0, TimeFormat.parse("00:00:00"));
+        assertEquals(1230, TimeFormat.parse("00:01:23"));
+        assertEquals(123400, TimeFormat.parse("02:03:40"));
+        assertEquals(123400, TimeFormat.parse(TimeFormat.toString(123400)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsOtherFormats() {
+        TimeFormat.parse("1:23:45");
+    }
+
+    @Test
+    public void stopAndStart_resumesTime() {
+        Timer timer = new Timer();
+        timer.start(1000);
+        timer.stop(3500);
+        assertEquals(2500, timer.getTimeMilliseconds(10000));
+
+        timer.start(20000);
+        assertEquals(3000, timer.getTimeMilliseconds(20500));
+
+        timer.reset();
+        assertEquals(0, timer.getTimeMilliseconds(30000));
+    }
+
+    /**
+     * Samples the timer once per simulated 60Hz frame and checks that no bytes are allocated.
+     */
+    @Test
+    public void update_doesNotAllocate() {
+        Timer timer = new Timer();
+        timer.start(0);
+        for (int i = 0; i < 5; i++) { //Warm up until the JIT has compiled the update path
+            runFrames(timer, i * FRAMES);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        runFrames(timer, 5 * FRAMES);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertEquals("Bytes allocated by " + FRAMES + " timer updates", 0, allocated);
+    }
+
+    private void runFrames(Timer timer, int firstFrame) {
+        for (int frame = firstFrame; frame < firstFrame + FRAMES; frame++) {
+            timer.update(frame * 1000L / 60);
+        }
+    }
+}